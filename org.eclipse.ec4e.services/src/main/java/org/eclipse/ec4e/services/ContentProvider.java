@@ -29,6 +29,24 @@ public interface ContentProvider<T> {
 			return document.length();
 		}
 
+		@Override
+		public int getLineOffset(String document, int offset) throws Exception {
+			int start = offset;
+			while (start > 0 && !isLineDelimiter(document.charAt(start - 1))) {
+				start--;
+			}
+			return start;
+		}
+
+		@Override
+		public CharSequence getLine(String document, int offset) throws Exception {
+			int end = offset;
+			while (end < document.length() && !isLineDelimiter(document.charAt(end))) {
+				end++;
+			}
+			return document.substring(getLineOffset(document, offset), end);
+		}
+
 	};
 
 	/**
@@ -46,4 +64,62 @@ public interface ContentProvider<T> {
 
 	int getLength(T document);
 
+	/**
+	 * Returns the start offset of the line which contains the given offset.
+	 *
+	 * @param document
+	 *            the document
+	 * @param offset
+	 *            a document offset
+	 * @return the start offset of the line which contains the given offset
+	 * @exception if
+	 *                the offset is invalid in this document for instance
+	 */
+	default int getLineOffset(T document, int offset) throws Exception {
+		int start = offset;
+		while (start > 0 && !isLineDelimiter(getChar(document, start - 1))) {
+			start--;
+		}
+		return start;
+	}
+
+	/**
+	 * Returns the line which contains the given offset, without its line
+	 * delimiter, from the offset returned by {@link #getLineOffset(Object, int)}.
+	 * An implementation should fetch the line at once instead of calling
+	 * {@link #getChar(Object, int)} for each character.
+	 *
+	 * @param document
+	 *            the document
+	 * @param offset
+	 *            a document offset
+	 * @return the line which contains the given offset
+	 * @exception if
+	 *                the offset is invalid in this document for instance
+	 */
+	default CharSequence getLine(T document, int offset) throws Exception {
+		StringBuilder line = new StringBuilder();
+		int length = getLength(document);
+		for (int i = getLineOffset(document, offset); i < length; i++) {
+			char c = getChar(document, i);
+			if (isLineDelimiter(c)) {
+				break;
+			}
+			line.append(c);
+		}
+		return line;
+	}
+
+	/**
+	 * Returns true if the given character is a line delimiter ('\n' or '\r') and
+	 * false otherwise.
+	 *
+	 * @param c
+	 *            the character
+	 * @return true if the given character is a line delimiter
+	 */
+	static boolean isLineDelimiter(char c) {
+		return c == '\n' || c == '\r';
+	}
+
 }
\ No newline at end of file
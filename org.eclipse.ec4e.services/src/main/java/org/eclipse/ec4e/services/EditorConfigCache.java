@@ -0,0 +1,254 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.ec4e.services.model.EditorConfig;
+
+/**
+ * Cache of parsed {@link EditorConfig} keyed by the .editorconfig file.
+ *
+ * <p>
+ * A cached config is reused as long as the last modified time, the size and
+ * the file key (inode) of the file don't change, so a lookup costs one stat
+ * call instead of a read and a parse. The cache is bounded and evicts the least
+ * recently used config.
+ * </p>
+ *
+ * <p>
+ * The last modified time of some file systems has a resolution of one or two
+ * seconds, so an edit which keeps the size of the file (ex : 'tab' to 'spc')
+ * may not change the stat of the file when it happens in the same tick as the
+ * read. Like git does for its index, a config which was read less than
+ * {@link #MODIFIED_TIME_RESOLUTION} ms after the last modification of its
+ * file is not trusted and is read again by the next lookup, until the file is
+ * old enough. The age of the file is computed with the clock of this JVM.
+ * </p>
+ *
+ * <p>
+ * When the cache is watched (each change of a .editorconfig file is notified
+ * with {@link #evict(Path)}), a cached config is reused without stat call and
+ * the directories which don't contain a .editorconfig file are remembered too.
+ * The cache can be watched as a whole or by directory, the .editorconfig files
+ * of the other directories are still checked with a stat call.
+ * </p>
+ *
+ */
+class EditorConfigCache {
+
+	public static final int DEFAULT_MAX_SIZE = 256;
+	public static final int DEFAULT_MAX_MISSING_SIZE = 4096;
+	// the coarsest resolution of the last modified time (FAT)
+	public static final long MODIFIED_TIME_RESOLUTION = 2000;
+
+	private static class CacheEntry {
+
+		private final EditorConfig config;
+		private final long lastModified;
+		private final long size;
+		private final Object fileKey;
+		// true when the file could be modified without changing its stat
+		private final boolean racy;
+
+		CacheEntry(EditorConfig config, long lastModified, long size, Object fileKey, boolean racy) {
+			this.config = config;
+			this.lastModified = lastModified;
+			this.size = size;
+			this.fileKey = fileKey;
+			this.racy = racy;
+		}
+
+		boolean isValid(long lastModified, long size, Object fileKey) {
+			return !racy && this.lastModified == lastModified && this.size == size
+					&& Objects.equals(this.fileKey, fileKey);
+		}
+	}
+
+	// all fields are guarded by entries
+	private final Map<Path, CacheEntry> entries;
+	private final Map<Path, Boolean> missingFiles;
+	// incremented on each eviction to avoid caching a stat result which is
+	// older than the eviction
+	private long generation;
+	private boolean watched;
+	private final Set<Path> watchedDirs;
+
+	public EditorConfigCache() {
+		this(DEFAULT_MAX_SIZE, DEFAULT_MAX_MISSING_SIZE);
+	}
+
+	public EditorConfigCache(int maxSize, int maxMissingSize) {
+		this.entries = new LRUMap<>(maxSize);
+		this.missingFiles = new LRUMap<>(maxMissingSize);
+		this.watchedDirs = new HashSet<>();
+	}
+
+	/**
+	 * Set to true when each change of a .editorconfig file is notified with
+	 * {@link #evict(Path)}. The cached configs are dropped, because a config
+	 * which was read before can't be trusted without a stat call.
+	 * 
+	 * @param watched
+	 *            true if .editorconfig changes are notified and false otherwise.
+	 */
+	public void setWatched(boolean watched) {
+		synchronized (entries) {
+			this.watched = watched;
+			generation++;
+			entries.clear();
+			missingFiles.clear();
+			if (!watched) {
+				watchedDirs.clear();
+			}
+		}
+	}
+
+	/**
+	 * Set to true when each change of the .editorconfig file of the given
+	 * directory is notified with {@link #evict(Path)}. The cached config of the
+	 * directory is dropped like with {@link #setWatched(boolean)}.
+	 * 
+	 * @param dir
+	 *            the directory.
+	 * @param watched
+	 *            true if .editorconfig changes of the directory are notified and
+	 *            false otherwise.
+	 */
+	public void setWatched(Path dir, boolean watched) {
+		synchronized (entries) {
+			generation++;
+			if (watched) {
+				watchedDirs.add(dir);
+			} else {
+				watchedDirs.remove(dir);
+			}
+			entries.keySet().removeIf(configFile -> dir.equals(configFile.getParent()));
+			missingFiles.keySet().removeIf(configFile -> dir.equals(configFile.getParent()));
+		}
+	}
+
+	/**
+	 * Returns true if the cache is watched as a whole or for some directories.
+	 * 
+	 * @return true if the cache is watched as a whole or for some directories.
+	 */
+	public boolean isWatched() {
+		synchronized (entries) {
+			return watched || !watchedDirs.isEmpty();
+		}
+	}
+
+	// must be called while entries is locked
+	private boolean isWatched(Path configFile) {
+		return watched || watchedDirs.contains(configFile.getParent());
+	}
+
+	/**
+	 * Returns the parsed config of the given .editorconfig file and null if the
+	 * file doesn't exist.
+	 *
+	 * @param configFile
+	 *            the .editorconfig file.
+	 * @return the parsed config of the given .editorconfig file and null if the
+	 *         file doesn't exist.
+	 * @throws IOException
+	 */
+	public EditorConfig get(Path configFile) throws IOException {
+		long currentGeneration;
+		boolean trusted;
+		synchronized (entries) {
+			trusted = isWatched(configFile);
+			if (trusted) {
+				if (missingFiles.containsKey(configFile)) {
+					return null;
+				}
+				CacheEntry entry = entries.get(configFile);
+				// a racy entry could be modified in the same tick, check it once
+				// again
+				if (entry != null && !entry.racy) {
+					return entry.config;
+				}
+			}
+			currentGeneration = generation;
+		}
+		long readTime = System.currentTimeMillis();
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(configFile, BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			synchronized (entries) {
+				entries.remove(configFile);
+				// the watch state can't change without a new generation
+				if (trusted && currentGeneration == generation) {
+					missingFiles.put(configFile, Boolean.TRUE);
+				}
+			}
+			return null;
+		}
+		if (!attributes.isRegularFile()) {
+			return null;
+		}
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		long size = attributes.size();
+		Object fileKey = attributes.fileKey();
+		synchronized (entries) {
+			CacheEntry entry = entries.get(configFile);
+			if (entry != null && entry.isValid(lastModified, size, fileKey)) {
+				return entry.config;
+			}
+		}
+		// Load the config outside the lock, a concurrent load of the same file is
+		// harmless.
+		EditorConfig config = EditorConfig.load(configFile);
+		synchronized (entries) {
+			if (currentGeneration == generation || !isWatched(configFile)) {
+				entries.put(configFile, new CacheEntry(config, lastModified, size, fileKey,
+						readTime - lastModified < MODIFIED_TIME_RESOLUTION));
+			}
+		}
+		return config;
+	}
+
+	/**
+	 * Remove the given .editorconfig file from the cache, whether it was cached
+	 * as existing or missing.
+	 *
+	 * @param configFile
+	 *            the .editorconfig file.
+	 */
+	public void evict(Path configFile) {
+		synchronized (entries) {
+			generation++;
+			entries.remove(configFile);
+			missingFiles.remove(configFile);
+		}
+	}
+
+	/**
+	 * Remove all configs from the cache.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			generation++;
+			entries.clear();
+			missingFiles.clear();
+		}
+	}
+}
@@ -12,23 +12,92 @@ package org.eclipse.ec4e.services;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.ec4e.services.model.EditorConfig;
+import org.eclipse.ec4e.services.model.FilePath;
 import org.eclipse.ec4e.services.model.Option;
+import org.eclipse.ec4e.services.model.ResolvedOptions;
 import org.eclipse.ec4e.services.model.Section;
 
 public class EditorConfigManager {
 
 	public static String VERSION = "0.12.0-final";
 
+	private static final int DEFAULT_RESOLVED_OPTIONS_SIZE = 1024;
+	private static final int DEFAULT_CONFIG_CHAINS_SIZE = 4096;
+
+	/**
+	 * Memoized options of a file, valid as long as the chain entry of its
+	 * directory is the same.
+	 */
+	private static class ResolvedEntry {
+
+		// null when the file has no parent directory
+		private final ChainEntry chainEntry;
+		private final Collection<Option> options;
+		// computed on demand, several threads can compute it
+		private volatile ResolvedOptions resolvedOptions;
+
+		ResolvedEntry(ChainEntry chainEntry, Collection<Option> options) {
+			this.chainEntry = chainEntry;
+			this.options = options;
+		}
+
+		ResolvedOptions getResolvedOptions() {
+			ResolvedOptions resolvedOptions = this.resolvedOptions;
+			if (resolvedOptions == null) {
+				resolvedOptions = ResolvedOptions.of(options);
+				this.resolvedOptions = resolvedOptions;
+			}
+			return resolvedOptions;
+		}
+	}
+
+	/**
+	 * Immutable chain of the .editorconfig files which are applied to the files
+	 * of a directory, shared by all the files of the directory. The entry is
+	 * valid as long as the cache returns the same config for the directory and
+	 * the entry of the parent directory is valid.
+	 */
+	private static class ChainEntry {
+
+		private final Set<Path> explicitRootDirs;
+		// the config of the directory, null if it doesn't exist
+		private final EditorConfig config;
+		// the entry of the parent directory, null if the directory is root
+		private final ChainEntry parent;
+		private final List<EditorConfig> chain;
+
+		ChainEntry(Set<Path> explicitRootDirs, EditorConfig config, ChainEntry parent) {
+			this.explicitRootDirs = explicitRootDirs;
+			this.config = config;
+			this.parent = parent;
+			this.chain = newConfigChain(config, parent != null ? parent.chain : Collections.emptyList());
+		}
+	}
+
 	private final String configFilename;
 	private final String version;
+	private final EditorConfigCache cache;
+	private final Map<Path, ResolvedEntry> resolvedOptions;
+	// chains by directory, guarded by itself and modified by the invalidations
+	// while resolvedOptions is locked too
+	private final Map<Path, ChainEntry> configChains;
+	// incremented on each invalidation to avoid memoizing options resolved
+	// against an outdated .editorconfig
+	private volatile long generation;
 
 	/**
 	 * Creates EditorConfig handler with default configuration filename
@@ -51,38 +120,363 @@ public class EditorConfigManager {
 	public EditorConfigManager(String configFilename, String version) {
 		this.configFilename = configFilename;
 		this.version = version;
+		this.cache = new EditorConfigCache();
+		this.resolvedOptions = new LRUMap<>(DEFAULT_RESOLVED_OPTIONS_SIZE);
+		this.configChains = new LRUMap<>(DEFAULT_CONFIG_CHAINS_SIZE);
+	}
+
+	/**
+	 * Set to true when every change (creation, update, deletion) of a
+	 * .editorconfig file is notified to this manager with
+	 * {@link #invalidate(File)}, generally by an {@link EditorConfigWatchService}.
+	 * In this case, parsed configs and directories without .editorconfig file are
+	 * reused without stat call, so the memoized options and the shared chains of
+	 * .editorconfig files are checked without I/O.
+	 * 
+	 * @param watched
+	 *            true if .editorconfig changes are notified and false otherwise.
+	 */
+	public void setWatched(boolean watched) {
+		// the memoized options and chains are checked against the cache
+		cache.setWatched(watched);
+	}
+
+	/**
+	 * Set to true when every change of the .editorconfig file of the given
+	 * directory is notified to this manager with {@link #invalidate(File)}. Like
+	 * {@link #setWatched(boolean)} but only for this directory, the .editorconfig
+	 * files of the directories which are not watched are still checked with a
+	 * stat call.
+	 * 
+	 * @param dir
+	 *            the directory.
+	 * @param watched
+	 *            true if .editorconfig changes of the directory are notified and
+	 *            false otherwise.
+	 */
+	public void setWatched(Path dir, boolean watched) {
+		cache.setWatched(dir, watched);
+	}
+
+	/**
+	 * Returns true if the manager is watched as a whole or for some directories.
+	 * 
+	 * @return true if the manager is watched as a whole or for some directories.
+	 */
+	public boolean isWatched() {
+		return cache.isWatched();
+	}
+
+	/**
+	 * Returns the configuration file name (.editorconfig by default).
+	 * 
+	 * @return the configuration file name (.editorconfig by default).
+	 */
+	public String getConfigFilename() {
+		return configFilename;
 	}
 
 	public Collection<Option> getOptions(File file, Set<File> explicitRootDirs) throws EditorConfigException {
-		Map<String, Option> oldOptions = Collections.emptyMap();
-		Map<String, Option> options = new LinkedHashMap<>();
+		return getOptions(file.toPath(), toPaths(explicitRootDirs));
+	}
+
+	/**
+	 * Returns the options of the given file, which can belong to any file system
+	 * (zip file, in-memory, etc). The .editorconfig files are searched in the
+	 * parent directories of the file, in the same file system.
+	 * 
+	 * <p>
+	 * The options are memoized until a .editorconfig of the parent directories
+	 * changes: the memoized options are returned without matching the sections
+	 * again, after a stat call by parent directory which is not watched.
+	 * </p>
+	 * 
+	 * @param file
+	 *            the file.
+	 * @param explicitRootDirs
+	 *            the directories which are considered as root, or null.
+	 * @return the options of the given file.
+	 * @throws EditorConfigException
+	 */
+	public Collection<Option> getOptions(Path file, Set<Path> explicitRootDirs) throws EditorConfigException {
+		return getResolvedEntry(file, explicitRootDirs).options;
+	}
+
+	public ResolvedOptions getResolvedOptions(File file, Set<File> explicitRootDirs) throws EditorConfigException {
+		return getResolvedOptions(file.toPath(), toPaths(explicitRootDirs));
+	}
+
+	/**
+	 * Returns the options of the given file where the values of the known
+	 * properties are parsed. The result is memoized like
+	 * {@link #getOptions(Path, Set)}.
+	 * 
+	 * @param file
+	 *            the file.
+	 * @param explicitRootDirs
+	 *            the directories which are considered as root, or null.
+	 * @return the options of the given file where the values of the known
+	 *         properties are parsed.
+	 * @throws EditorConfigException
+	 */
+	public ResolvedOptions getResolvedOptions(Path file, Set<Path> explicitRootDirs) throws EditorConfigException {
+		return getResolvedEntry(file, explicitRootDirs).getResolvedOptions();
+	}
+
+	private ResolvedEntry getResolvedEntry(Path file, Set<Path> explicitRootDirs) throws EditorConfigException {
+		ResolvedEntry entry;
+		long currentGeneration;
+		synchronized (resolvedOptions) {
+			entry = resolvedOptions.get(file);
+			currentGeneration = generation;
+		}
+		Path dir = file.getParent();
+		ChainEntry chainEntry;
+		try {
+			chainEntry = dir != null ? getChainEntry(dir, explicitRootDirs) : null;
+		} catch (IOException e) {
+			throw new EditorConfigException(null, e);
+		}
+		// the chain entry is specific to the explicit root directories
+		if (entry != null && entry.chainEntry == chainEntry) {
+			return entry;
+		}
+		List<EditorConfig> chain = chainEntry != null ? chainEntry.chain : Collections.emptyList();
+		Collection<Option> options = Collections
+				.unmodifiableCollection(mergeOptions(new FilePath(file), chain, new BitSet()));
+		entry = new ResolvedEntry(chainEntry, options);
+		synchronized (resolvedOptions) {
+			if (currentGeneration == generation) {
+				resolvedOptions.put(file, entry);
+			}
+		}
+		return entry;
+	}
 
+	/**
+	 * Returns the options of each given file. Files are grouped by directory, so
+	 * the .editorconfig files of a directory and of its parent directories are
+	 * searched and loaded once for the whole batch.
+	 * 
+	 * @param files
+	 *            the files.
+	 * @param explicitRootDirs
+	 *            the directories which are considered as root, or null.
+	 * @return the options of each given file, in the iteration order of the
+	 *         given files.
+	 * @throws EditorConfigException
+	 */
+	public Map<Path, Collection<Option>> getOptions(Collection<Path> files, Set<Path> explicitRootDirs)
+			throws EditorConfigException {
+		Map<Path, List<Path>> filesByDir = new LinkedHashMap<>();
+		// keep the order of the given files
+		Map<Path, Collection<Option>> options = new LinkedHashMap<>();
+		for (Path file : files) {
+			options.put(file, null);
+			Path dir = file.getParent();
+			List<Path> dirFiles = filesByDir.get(dir);
+			if (dirFiles == null) {
+				dirFiles = new ArrayList<>();
+				filesByDir.put(dir, dirFiles);
+			}
+			dirFiles.add(file);
+		}
+		Map<Path, List<EditorConfig>> chains = new HashMap<>();
+		BitSet matches = new BitSet();
 		try {
-			boolean root = false;
-			File dir = file.getParentFile();
-			while (dir != null && !root) {
-				File configFile = new File(dir, configFilename);
-				if (configFile.exists()) {
-					EditorConfig config = EditorConfig.load(configFile);
-					root = config.isRoot();
-					List<Section> sections = config.getSections();
-					for (Section section : sections) {
-						if (section.match(file)) {
-							// Section matches the editor file, collect options of the section
-							List<Option> o = section.getOptions();
-							for (Option option : o) {
-								options.put(option.getName(), option);
-							}
-						}
-					}
+			for (Map.Entry<Path, List<Path>> entry : filesByDir.entrySet()) {
+				List<EditorConfig> chain = getConfigChain(entry.getKey(), explicitRootDirs, chains);
+				for (Path file : entry.getValue()) {
+					options.put(file, mergeOptions(new FilePath(file), chain, matches));
 				}
-				root |= explicitRootDirs != null && explicitRootDirs.contains(dir);
-				dir = dir.getParentFile();
 			}
 		} catch (IOException e) {
 			throw new EditorConfigException(null, e);
 		}
+		return options;
+	}
+
+	/**
+	 * Returns the .editorconfig files which are applied to the files of the given
+	 * directory, from the nearest to the root.
+	 * 
+	 * @param dir
+	 *            the directory, or null.
+	 * @param explicitRootDirs
+	 *            the directories which are considered as root, or null.
+	 * @param chains
+	 *            the chains already computed by directory, or null.
+	 */
+	List<EditorConfig> getConfigChain(Path dir, Set<Path> explicitRootDirs, Map<Path, List<EditorConfig>> chains)
+			throws IOException {
+		if (dir == null) {
+			return Collections.emptyList();
+		}
+		if (chains == null) {
+			return getChainEntry(dir, explicitRootDirs).chain;
+		}
+		List<EditorConfig> chain = chains.get(dir);
+		if (chain == null) {
+			EditorConfig config = cache.get(dir.resolve(configFilename));
+			List<EditorConfig> parentChain = isRoot(dir, config, explicitRootDirs) ? Collections.emptyList()
+					: getConfigChain(dir.getParent(), explicitRootDirs, chains);
+			chain = newConfigChain(config, parentChain);
+			chains.put(dir, chain);
+		}
+		return chain;
+	}
+
+	/**
+	 * Returns the chain entry of the given directory from the entries shared by
+	 * all callers. The shared entry is returned when the cache still returns its
+	 * configs, which costs a stat call by directory which is not watched.
+	 * The entries are bounded and the least recently used is evicted.
+	 */
+	private ChainEntry getChainEntry(Path dir, Set<Path> explicitRootDirs) throws IOException {
+		ChainEntry entry;
+		long currentGeneration;
+		synchronized (configChains) {
+			entry = configChains.get(dir);
+			currentGeneration = generation;
+		}
+		EditorConfig config = cache.get(dir.resolve(configFilename));
+		Path parentDir = dir.getParent();
+		ChainEntry parent = parentDir == null || isRoot(dir, config, explicitRootDirs) ? null
+				: getChainEntry(parentDir, explicitRootDirs);
+		if (entry != null && Objects.equals(entry.explicitRootDirs, explicitRootDirs) && entry.config == config
+				&& entry.parent == parent) {
+			return entry;
+		}
+		entry = new ChainEntry(explicitRootDirs, config, parent);
+		synchronized (configChains) {
+			// an invalidation increments the generation before it removes the chains
+			if (currentGeneration == generation) {
+				configChains.put(dir, entry);
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the .editorconfig files which are applied to the files of the given
+	 * directory from the chain of its parent directory, without walking through
+	 * the parent directories.
+	 * 
+	 * @param dir
+	 *            the directory.
+	 * @param explicitRootDirs
+	 *            the directories which are considered as root, or null.
+	 * @param parentChain
+	 *            the chain of the parent directory.
+	 */
+	List<EditorConfig> getChildConfigChain(Path dir, Set<Path> explicitRootDirs, List<EditorConfig> parentChain)
+			throws IOException {
+		EditorConfig config = cache.get(dir.resolve(configFilename));
+		return newConfigChain(config,
+				isRoot(dir, config, explicitRootDirs) ? Collections.<EditorConfig>emptyList() : parentChain);
+	}
+
+	private static boolean isRoot(Path dir, EditorConfig config, Set<Path> explicitRootDirs) {
+		return (config != null && config.isRoot()) || (explicitRootDirs != null && explicitRootDirs.contains(dir));
+	}
+
+	private static List<EditorConfig> newConfigChain(EditorConfig config, List<EditorConfig> parentChain) {
+		if (config == null) {
+			return parentChain;
+		}
+		List<EditorConfig> chain = new ArrayList<>(parentChain.size() + 1);
+		chain.add(config);
+		chain.addAll(parentChain);
+		return Collections.unmodifiableList(chain);
+	}
 
+	/**
+	 * Returns the options of the sections of the given chain of .editorconfig
+	 * files which match the given path. The options of the nearest .editorconfig
+	 * and of the last sections take precedence.
+	 */
+	static Collection<Option> mergeOptions(FilePath path, List<EditorConfig> chain, BitSet matches) {
+		Map<String, Option> options = new LinkedHashMap<>();
+		for (int j = chain.size() - 1; j >= 0; j--) {
+			EditorConfig config = chain.get(j);
+			List<Section> sections = config.getSections();
+			matches.clear();
+			config.match(path, matches);
+			for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+				// Section matches the editor file, collect options of the section
+				List<Option> o = sections.get(i).getOptions();
+				for (Option option : o) {
+					options.put(option.getName(), option);
+				}
+			}
+		}
 		return options.values();
 	}
+
+	/**
+	 * Invalidate the caches after the given .editorconfig file was created,
+	 * updated or deleted: the parsed config (or the fact that it doesn't exist),
+	 * the resolved options of each file and the chain of each directory which
+	 * belong to the directory of the .editorconfig are removed.
+	 * 
+	 * @param configFile
+	 *            the .editorconfig file which changed.
+	 */
+	public void invalidate(File configFile) {
+		invalidate(configFile.toPath());
+	}
+
+	/**
+	 * Invalidate the caches after the given .editorconfig file was created,
+	 * updated or deleted.
+	 * 
+	 * @param configFile
+	 *            the .editorconfig file which changed.
+	 * @see #invalidate(File)
+	 */
+	public void invalidate(Path configFile) {
+		cache.evict(configFile);
+		Path dir = configFile.getParent();
+		synchronized (resolvedOptions) {
+			generation++;
+			synchronized (configChains) {
+				if (dir == null) {
+					resolvedOptions.clear();
+					configChains.clear();
+				} else {
+					resolvedOptions.keySet().removeIf(file -> isAncestor(dir, file));
+					configChains.keySet().removeIf(chainDir -> chainDir.startsWith(dir));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Clear the cache of parsed .editorconfig files and the resolved options.
+	 */
+	public void clearCache() {
+		cache.clear();
+		synchronized (resolvedOptions) {
+			generation++;
+			resolvedOptions.clear();
+			synchronized (configChains) {
+				configChains.clear();
+			}
+		}
+	}
+
+	private static boolean isAncestor(Path dir, Path file) {
+		return !file.equals(dir) && file.startsWith(dir);
+	}
+
+	private static Set<Path> toPaths(Set<File> files) {
+		if (files == null) {
+			return null;
+		}
+		Set<Path> paths = new HashSet<>(files.size());
+		for (File file : files) {
+			paths.add(file.toPath());
+		}
+		return paths;
+	}
 }
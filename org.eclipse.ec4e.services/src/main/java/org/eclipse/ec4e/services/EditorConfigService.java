@@ -10,19 +10,24 @@
  */
 package org.eclipse.ec4e.services;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
 import org.eclipse.ec4e.services.completion.CompletionContextType;
 import org.eclipse.ec4e.services.completion.CompletionEntry;
+import org.eclipse.ec4e.services.completion.CompletionIndex;
 import org.eclipse.ec4e.services.completion.ICompletionEntry;
 import org.eclipse.ec4e.services.completion.ICompletionEntryMatcher;
 import org.eclipse.ec4e.services.model.options.ConfigPropertyException;
 import org.eclipse.ec4e.services.model.options.ConfigPropertyType;
 import org.eclipse.ec4e.services.parser.EditorConfigParser;
+import org.eclipse.ec4e.services.parser.SyntaxTree;
 import org.eclipse.ec4e.services.validation.IReporter;
 import org.eclipse.ec4e.services.validation.ISeverityProvider;
 import org.eclipse.ec4e.services.validation.ValidationEditorConfigHandler;
@@ -38,9 +43,14 @@ import org.eclipse.ec4e.services.validation.ValidationEditorConfigHandler;
  */
 public class EditorConfigService {
 
+	private static final CompletionIndex OPTION_NAMES_INDEX = new CompletionIndex(
+			Stream.of(ConfigPropertyType.ALL_TYPES).map(ConfigPropertyType::getName).toArray(String[]::new));
+
+	private static final ConcurrentMap<ConfigPropertyType<?>, CompletionIndex> OPTION_VALUES_INDEXES = new ConcurrentHashMap<>();
+
 	// ------------- Validation service
 
-	public static void validate(String content, IReporter reporter) {
+	public static void validate(CharSequence content, IReporter reporter) {
 		validate(content, reporter, null);
 	}
 
@@ -61,13 +71,13 @@ public class EditorConfigService {
 	 * </ul>
 	 * 
 	 * @param content
-	 *            of the .editorconfig to validate
+	 *            of the .editorconfig to validate, which is parsed in place
 	 * @param reporter
 	 *            used to report errors.
 	 */
-	public static void validate(String content, IReporter reporter, ISeverityProvider provider) {
+	public static void validate(CharSequence content, IReporter reporter, ISeverityProvider provider) {
 		ValidationEditorConfigHandler handler = new ValidationEditorConfigHandler(reporter, provider);
-		EditorConfigParser parser = new EditorConfigParser(handler);
+		EditorConfigParser<Object, Object> parser = EditorConfigParser.getThreadParser(handler);
 		// Set parser as tolerant to collect the full errors of each line of the
 		// editorconfig.
 		parser.setTolerant(true);
@@ -101,31 +111,54 @@ public class EditorConfigService {
 	public static <T, C extends ICompletionEntry> List<C> getCompletionEntries(int offset, T document,
 			ICompletionEntryMatcher matcher, final Function<String, C> factory, ContentProvider<T> provider)
 			throws Exception {
-		TokenContext context = getTokenContext(offset, document, false, provider);
+		return getCompletionEntries(offset, getTokenContext(offset, document, false, provider), matcher, factory);
+	}
+
+	/**
+	 * Returns the completion entries at the given offset of the document of the
+	 * given syntax tree.
+	 *
+	 * @param offset
+	 *            the offset.
+	 * @param tree
+	 *            the syntax tree of the document.
+	 * @param matcher
+	 *            the matcher of the entries.
+	 * @param factory
+	 *            the factory of the entries.
+	 * @return the completion entries at the given offset.
+	 */
+	public static <C extends ICompletionEntry> List<C> getCompletionEntries(int offset, SyntaxTree tree,
+			ICompletionEntryMatcher matcher, final Function<String, C> factory) {
+		return getCompletionEntries(offset, getTokenContext(offset, tree, false), matcher, factory);
+	}
+
+	private static <C extends ICompletionEntry> List<C> getCompletionEntries(int offset, TokenContext context,
+			ICompletionEntryMatcher matcher, final Function<String, C> factory) {
 		switch (context.type) {
 		case OPTION_NAME:
-			return Stream.of(ConfigPropertyType.ALL_TYPES).map(type -> {
+			return getCompletionEntries(OPTION_NAMES_INDEX, context.prefix, i -> {
+				ConfigPropertyType<?> type = ConfigPropertyType.ALL_TYPES[i];
 				C entry = factory.apply(type.getName());
 				entry.setMatcher(matcher);
 				entry.setOptionType(type);
 				entry.setContextType(context.type);
 				entry.setInitialOffset(offset);
 				return entry;
-			}).filter(entry -> entry.updatePrefix(context.prefix)).collect(Collectors.toList());
+			});
 		case OPTION_VALUE:
-			ConfigPropertyType<?> optionType = getOption(context.name);
-			if (optionType != null) {
-				String values[] = optionType.getPossibleValues();
-				if (values != null) {
-					return Stream.of(values).map(value -> {
-						C entry = factory.apply(value);
-						entry.setMatcher(matcher);
-						entry.setOptionType(optionType);
-						entry.setContextType(context.type);
-						entry.setInitialOffset(offset);
-						return entry;
-					}).filter(entry -> entry.updatePrefix(context.prefix)).collect(Collectors.toList());
-				}
+			ConfigPropertyType<?> optionType = context.name != null ? getOption(context.name) : null;
+			if (optionType != null && optionType.getPossibleValues() != null) {
+				CompletionIndex index = OPTION_VALUES_INDEXES.computeIfAbsent(optionType,
+						type -> new CompletionIndex(type.getPossibleValues()));
+				return getCompletionEntries(index, context.prefix, i -> {
+					C entry = factory.apply(index.getName(i));
+					entry.setMatcher(matcher);
+					entry.setOptionType(optionType);
+					entry.setContextType(context.type);
+					entry.setInitialOffset(offset);
+					return entry;
+				});
 			}
 			break;
 		default:
@@ -135,10 +168,43 @@ public class EditorConfigService {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Returns the entries of the candidates of the given index which match the
+	 * given prefix, an entry is created only for a candidate.
+	 */
+	private static <C extends ICompletionEntry> List<C> getCompletionEntries(CompletionIndex index, String prefix,
+			IntFunction<C> factory) {
+		List<C> entries = new ArrayList<>();
+		index.forEachCandidate(prefix, i -> {
+			C entry = factory.apply(i);
+			if (entry.updatePrefix(prefix)) {
+				entries.add(entry);
+			}
+		});
+		return entries;
+	}
+
 	// ------------- Hover service
 
 	public static <T> String getHover(int offset, T document, ContentProvider<T> provider) throws Exception {
-		TokenContext context = getTokenContext(offset, document, true, provider);
+		return getHover(getTokenContext(offset, document, true, provider));
+	}
+
+	/**
+	 * Returns the description of the option at the given offset of the document
+	 * of the given syntax tree and null if there is none.
+	 *
+	 * @param offset
+	 *            the offset.
+	 * @param tree
+	 *            the syntax tree of the document.
+	 * @return the description of the option at the given offset or null.
+	 */
+	public static String getHover(int offset, SyntaxTree tree) {
+		return getHover(getTokenContext(offset, tree, true));
+	}
+
+	private static String getHover(TokenContext context) {
 		switch (context.type) {
 		case OPTION_NAME: {
 			ConfigPropertyType<?> type = ConfigPropertyType.valueOf(context.prefix);
@@ -167,39 +233,29 @@ public class EditorConfigService {
 
 	private static <T> TokenContext getTokenContext(int offset, T document, boolean collectWord,
 			ContentProvider<T> provider) throws Exception {
+		// the token context is in the line of the offset, fetched at once
+		CharSequence line = provider.getLine(document, offset);
+		int lineOffset = offset - provider.getLineOffset(document, offset);
 		char c;
 		CompletionContextType type = CompletionContextType.OPTION_NAME;
-		StringBuilder prefix = new StringBuilder();
 		StringBuilder name = null;
-		int i = offset - 1;
+		int i = lineOffset - 1;
 		// Collect prefix
-		while (i >= 0) {
-			c = provider.getChar(document, i);
-			if (Character.isJavaIdentifierPart(c)) {
-				prefix.insert(0, c);
-				i--;
-			} else {
-				break;
-			}
+		while (i >= 0 && Character.isJavaIdentifierPart(line.charAt(i))) {
+			i--;
 		}
+		int prefixEnd = lineOffset;
 		if (collectWord) {
-			int j = offset;
-			int length = provider.getLength(document);
-			while (j <= length) {
-				c = provider.getChar(document, j);
-				if (Character.isJavaIdentifierPart(c)) {
-					prefix.append(c);
-					j++;
-				} else {
-					break;
-				}
+			while (prefixEnd < line.length() && Character.isJavaIdentifierPart(line.charAt(prefixEnd))) {
+				prefixEnd++;
 			}
 		}
+		String prefix = line.subSequence(i + 1, prefixEnd).toString();
 
 		// Collect context type
 		boolean stop = false;
 		while (i >= 0 && !stop) {
-			c = provider.getChar(document, i--);
+			c = line.charAt(i--);
 			switch (c) {
 			case '[':
 				type = CompletionContextType.SECTION;
@@ -222,11 +278,85 @@ public class EditorConfigService {
 				break;
 			default:
 				if (name != null && Character.isJavaIdentifierPart(c)) {
-					name.insert(0, c);
+					// the name is collected backward
+					name.append(c);
 				}
 			}
 		}
-		return new TokenContext(prefix.toString(), name != null ? name.toString() : null, type);
+		return new TokenContext(prefix, name != null ? name.reverse().toString() : null, type);
+	}
+
+	/**
+	 * Returns the token context of the given offset from the syntax tree, which
+	 * is the same as the context computed from the line of the offset except
+	 * that:
+	 * 
+	 * <ul>
+	 * <li>';' starts a comment like '#'.</li>
+	 * <li>the prefix is the text of the token before the offset, which can
+	 * contain other characters than the Java identifier parts (ex : 'utf-').</li>
+	 * <li>all the names are proposed after an option name which is not followed
+	 * by '=', whatever is typed after the name.</li>
+	 * </ul>
+	 */
+	private static TokenContext getTokenContext(int offset, SyntaxTree tree, boolean collectWord) {
+		int node = tree.getNodeAt(offset);
+		if (node != SyntaxTree.NO_NODE && tree.getKind(node) == SyntaxTree.NodeKind.COMMENT
+				&& offset == tree.getStart(node)) {
+			// before a comment, in its section or option if any
+			node = tree.getParent(node);
+		}
+		if (node == SyntaxTree.NO_NODE
+				|| (tree.getParent(node) == SyntaxTree.NO_NODE && offset == tree.getStart(node))) {
+			// blank line or before the first token of a line
+			return new TokenContext("", null, CompletionContextType.OPTION_NAME);
+		}
+		switch (tree.getKind(node)) {
+		case SECTION:
+		case PATTERN:
+			return new TokenContext("", null, CompletionContextType.SECTION);
+		case COMMENT:
+			return new TokenContext("", null, CompletionContextType.COMMENTS);
+		case OPTION_NAME:
+			return new TokenContext(getPrefix(offset, tree, node, collectWord), null,
+					CompletionContextType.OPTION_NAME);
+		case OPTION_VALUE:
+			return new TokenContext(getPrefix(offset, tree, node, collectWord),
+					getOptionName(tree, tree.getParent(node)), CompletionContextType.OPTION_VALUE);
+		case ASSIGNMENT: {
+			int option = tree.getParent(node);
+			if (offset > tree.getStart(node)) {
+				return new TokenContext("", getOptionName(tree, option), CompletionContextType.OPTION_VALUE);
+			}
+			// before the '=', at the end of the name or after it
+			int name = tree.getChild(option, SyntaxTree.NodeKind.OPTION_NAME);
+			if (tree.getEnd(name) == offset) {
+				return new TokenContext(getPrefix(offset, tree, name, collectWord), null,
+						CompletionContextType.OPTION_NAME);
+			}
+			return new TokenContext("", null, CompletionContextType.OPTION_NAME);
+		}
+		default:
+			// in an option, between its tokens
+			int assignment = tree.getChild(node, SyntaxTree.NodeKind.ASSIGNMENT);
+			if (assignment != SyntaxTree.NO_NODE && offset > tree.getStart(assignment)) {
+				return new TokenContext("", getOptionName(tree, node), CompletionContextType.OPTION_VALUE);
+			}
+			return new TokenContext("", null, CompletionContextType.OPTION_NAME);
+		}
+	}
+
+	private static String getPrefix(int offset, SyntaxTree tree, int node, boolean collectWord) {
+		String text = tree.getText(node);
+		if (collectWord) {
+			return text;
+		}
+		return text.substring(0, Math.min(offset - tree.getStart(node), text.length()));
+	}
+
+	private static String getOptionName(SyntaxTree tree, int option) {
+		int name = tree.getChild(option, SyntaxTree.NodeKind.OPTION_NAME);
+		return name != SyntaxTree.NO_NODE ? tree.getText(name) : null;
 	}
 
 	public static String getEndOfLine(String lineDelimiter) {
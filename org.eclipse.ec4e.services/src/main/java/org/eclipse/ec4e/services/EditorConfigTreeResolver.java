@@ -0,0 +1,176 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+import org.eclipse.ec4e.services.model.EditorConfig;
+import org.eclipse.ec4e.services.model.FilePath;
+import org.eclipse.ec4e.services.model.Option;
+
+/**
+ * Resolves the options of all files of a directory tree in parallel with a
+ * {@link ForkJoinPool}.
+ *
+ * <p>
+ * Each directory is a task which receives the chain of .editorconfig files of
+ * its parent directory, so each .editorconfig is loaded once and the options
+ * of a file are resolved without walking through the parent directories.
+ * Symbolic links to directories are not followed, broken symbolic links are
+ * skipped. A directory which can't be read is skipped with its sub directories
+ * and doesn't stop the resolution of the other directories. The tree can belong
+ * to any file system (zip file, in-memory, etc).
+ * </p>
+ *
+ */
+public class EditorConfigTreeResolver {
+
+	private final EditorConfigManager manager;
+	private final ForkJoinPool pool;
+
+	public EditorConfigTreeResolver(EditorConfigManager manager) {
+		this(manager, ForkJoinPool.commonPool());
+	}
+
+	public EditorConfigTreeResolver(EditorConfigManager manager, ForkJoinPool pool) {
+		this.manager = manager;
+		this.pool = pool;
+	}
+
+	/**
+	 * Resolves the options of each file of the given directory tree. The
+	 * directories and files which can't be read are skipped.
+	 *
+	 * @param rootDir
+	 *            the root directory of the tree.
+	 * @param explicitRootDirs
+	 *            the directories which are considered as root, or null.
+	 * @return the options by file.
+	 * @throws EditorConfigException
+	 */
+	public Map<Path, Collection<Option>> resolve(Path rootDir, Set<Path> explicitRootDirs)
+			throws EditorConfigException {
+		Map<Path, Collection<Option>> options = new ConcurrentHashMap<>();
+		resolve(rootDir, explicitRootDirs, options::put, (path, e) -> {
+		});
+		return options;
+	}
+
+	/**
+	 * Resolves the options of each file of the given directory tree and gives
+	 * them to the given consumer, which is called by several threads.
+	 *
+	 * @param rootDir
+	 *            the root directory of the tree.
+	 * @param explicitRootDirs
+	 *            the directories which are considered as root, or null.
+	 * @param consumer
+	 *            the consumer of the options of each file.
+	 * @param errorConsumer
+	 *            the consumer of the errors of the directories and files which
+	 *            can't be read and are skipped, which is called by several
+	 *            threads.
+	 * @throws EditorConfigException
+	 *             when the .editorconfig files of the parent directories can't be
+	 *             read.
+	 */
+	public void resolve(Path rootDir, Set<Path> explicitRootDirs, BiConsumer<Path, Collection<Option>> consumer,
+			BiConsumer<Path, IOException> errorConsumer) throws EditorConfigException {
+		List<EditorConfig> parentChain;
+		try {
+			// the only walk through the parent directories
+			parentChain = manager.getConfigChain(rootDir.getParent(), explicitRootDirs, null);
+		} catch (IOException e) {
+			throw new EditorConfigException(null, e);
+		}
+		pool.invoke(new ResolveTask(rootDir, parentChain, explicitRootDirs, consumer, errorConsumer));
+	}
+
+	/**
+	 * Resolves the options of the files of a directory and forks a task by sub
+	 * directory.
+	 */
+	private class ResolveTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path dir;
+		private final List<EditorConfig> parentChain;
+		private final Set<Path> explicitRootDirs;
+		private final BiConsumer<Path, Collection<Option>> consumer;
+		private final BiConsumer<Path, IOException> errorConsumer;
+
+		ResolveTask(Path dir, List<EditorConfig> parentChain, Set<Path> explicitRootDirs,
+				BiConsumer<Path, Collection<Option>> consumer, BiConsumer<Path, IOException> errorConsumer) {
+			this.dir = dir;
+			this.parentChain = parentChain;
+			this.explicitRootDirs = explicitRootDirs;
+			this.consumer = consumer;
+			this.errorConsumer = errorConsumer;
+		}
+
+		@Override
+		protected void compute() {
+			List<ResolveTask> tasks = new ArrayList<>();
+			try {
+				List<EditorConfig> chain = manager.getChildConfigChain(dir, explicitRootDirs, parentChain);
+				BitSet matches = new BitSet();
+				try (DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+					for (Path child : children) {
+						try {
+							BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class,
+									LinkOption.NOFOLLOW_LINKS);
+							if (attributes.isDirectory()) {
+								tasks.add(new ResolveTask(child, chain, explicitRootDirs, consumer, errorConsumer));
+								continue;
+							}
+							if (attributes.isSymbolicLink()) {
+								// a link to a file is resolved like the file, a link to a directory is not
+								// followed
+								attributes = Files.readAttributes(child, BasicFileAttributes.class);
+							}
+							if (attributes.isRegularFile()) {
+								consumer.accept(child,
+										EditorConfigManager.mergeOptions(new FilePath(child), chain, matches));
+							}
+						} catch (NoSuchFileException e) {
+							// broken link or file deleted during the resolution
+						} catch (IOException e) {
+							errorConsumer.accept(child, e);
+						}
+					}
+				} catch (DirectoryIteratorException e) {
+					errorConsumer.accept(dir, e.getCause());
+				}
+			} catch (IOException e) {
+				errorConsumer.accept(dir, e);
+			}
+			invokeAll(tasks);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service which pushes the changes of .editorconfig files to the caches of an
+ * {@link EditorConfigManager}.
+ *
+ * <p>
+ * Changes are either collected by a {@link WatchService} for the directories
+ * registered with {@link #watch(File)}, or notified by the caller with
+ * {@link #configChanged(File)} (ex : with an IDE resource listener). Only the
+ * directories registered to the {@link WatchService} are trusted by the manager
+ * (see {@link EditorConfigManager#setWatched(Path, boolean)}): the notified
+ * changes invalidate the caches earlier, but the manager still checks the
+ * .editorconfig files of the other directories.
+ * </p>
+ *
+ */
+public class EditorConfigWatchService implements Closeable {
+
+	private final EditorConfigManager manager;
+	private final Map<WatchKey, Path> keys;
+	// watched directories, the value is true if sub directories are watched too
+	private final Map<Path, Boolean> directories;
+	private WatchService watchService;
+
+	public EditorConfigWatchService(EditorConfigManager manager) {
+		this.manager = manager;
+		this.keys = new ConcurrentHashMap<>();
+		this.directories = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Watch the .editorconfig files of the given directory tree and of its parent
+	 * directories with a {@link WatchService}. The manager trusts its caches for
+	 * each directory once it is registered and until {@link #close()}, the files
+	 * outside the watched trees are still resolved with stat calls.
+	 *
+	 * @param dir
+	 *            the root directory of the tree to watch.
+	 * @throws IOException
+	 */
+	public synchronized void watch(File dir) throws IOException {
+		if (watchService == null) {
+			watchService = FileSystems.getDefault().newWatchService();
+			Thread thread = new Thread(this::processEvents, "EditorConfig watcher");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		Path root = dir.toPath().toAbsolutePath();
+		registerTree(root);
+		// .editorconfig of parent directories are applied too
+		for (Path parent = root.getParent(); parent != null; parent = parent.getParent()) {
+			register(parent, false);
+		}
+	}
+
+	/**
+	 * Notify that the given .editorconfig file was created, updated or deleted.
+	 *
+	 * @param configFile
+	 *            the .editorconfig file.
+	 */
+	public void configChanged(File configFile) {
+		manager.invalidate(configFile);
+	}
+
+	/**
+	 * Notify that some .editorconfig files changed without knowing which ones.
+	 */
+	public void reset() {
+		manager.clearCache();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		for (Path dir : directories.keySet()) {
+			manager.setWatched(dir, false);
+		}
+		if (watchService != null) {
+			watchService.close();
+			watchService = null;
+		}
+		keys.clear();
+		directories.clear();
+	}
+
+	private void registerTree(Path root) throws IOException {
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				register(dir, true);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private void register(Path dir, boolean recursive) throws IOException {
+		if (Boolean.TRUE.equals(directories.get(dir))) {
+			return;
+		}
+		WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+		keys.put(key, dir);
+		directories.put(dir, recursive);
+		manager.setWatched(dir, true);
+		// the .editorconfig could be created before the registration
+		configChanged(dir.resolve(manager.getConfigFilename()).toFile());
+	}
+
+	private void processEvents() {
+		WatchService watchService = this.watchService;
+		for (;;) {
+			WatchKey key;
+			try {
+				key = watchService.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			Path dir = keys.get(key);
+			if (dir != null) {
+				for (WatchEvent<?> event : key.pollEvents()) {
+					processEvent(dir, event);
+				}
+			}
+			if (!key.reset()) {
+				keys.remove(key);
+				// a directory which was deleted and created again has a new key
+				if (dir != null && !keys.containsValue(dir)) {
+					directories.remove(dir);
+					manager.setWatched(dir, false);
+				}
+			}
+		}
+	}
+
+	private void processEvent(Path dir, WatchEvent<?> event) {
+		if (event.kind() == OVERFLOW) {
+			// some events are lost
+			reset();
+			return;
+		}
+		Path child = dir.resolve((Path) event.context());
+		if (manager.getConfigFilename().equals(child.getFileName().toString())) {
+			configChanged(child.toFile());
+		} else if (directories.containsKey(child)) {
+			// a watched directory was deleted or replaced, the .editorconfig files of the
+			// whole tree are impacted.
+			reset();
+		} else if (event.kind() == ENTRY_CREATE && Boolean.TRUE.equals(directories.get(dir))
+				&& Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+			try {
+				synchronized (this) {
+					if (this.watchService != null) {
+						registerTree(child);
+					}
+				}
+			} catch (IOException e) {
+				reset();
+			}
+		}
+	}
+}
@@ -77,13 +77,12 @@ public class CompletionEntry implements ICompletionEntry {
 	public boolean updatePrefix(String prefix) {
 		this.prefix = prefix;
 		Integer relevanceBoost = null;
-		int[] bestSequence = null;
 		if (isEmpty(prefix)) {
 			relevanceBoost = 0;
 		} else {
 			String name = getName();
-			bestSequence = matcher.bestSubsequence(name, prefix);
-			if ((bestSequence != null && bestSequence.length > 0)) {
+			int score = matcher.bestScore(name, prefix);
+			if (score >= 0) {
 				relevanceBoost = 0;
 				if (name.equals(prefix)) {
 					if (minPrefixLengthForTypes < prefix.length()) {
@@ -96,7 +95,6 @@ public class CompletionEntry implements ICompletionEntry {
 				} else if (startsWithIgnoreCase(prefix, name)) {
 					// Don't adjust score
 				} else {
-					int score = LCSS.scoreSubsequence(bestSequence);
 					relevanceBoost = SUBWORDS_RANGE_START + score;
 				}
 			}
@@ -0,0 +1,154 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.completion;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable index of completion names, built once, which selects the names
+ * which can match a token without allocating.
+ *
+ * <p>
+ * The index keeps, for each case folded char, the bit set of the names which
+ * contain it. The names which contain all the chars of the token are selected
+ * 64 names at a time by intersecting these bit sets, and only these names are
+ * checked to contain the chars of the token in order. The selection still reads
+ * one word by 64 names for each char of the token, the check is linear in the
+ * length of the selected names.
+ * </p>
+ *
+ * <p>
+ * The candidates are then matched with an {@link ICompletionEntryMatcher},
+ * which must only match a token whose chars appear in order in the completion
+ * ignoring case, like {@link ICompletionEntryMatcher#LCS} and
+ * {@link ICompletionEntryMatcher#START_WITH_MATCHER}.
+ * </p>
+ *
+ */
+public final class CompletionIndex {
+
+	private final String[] names;
+	// the case folded chars of each name
+	private final char[][] foldedNames;
+	// the distinct case folded chars of the names, sorted
+	private final char[] chars;
+	// for each char of chars, the bit set of the names which contain it
+	private final long[][] namesByChar;
+
+	public CompletionIndex(String... names) {
+		this.names = names.clone();
+		this.foldedNames = new char[names.length][];
+		BitSet allChars = new BitSet();
+		for (int i = 0; i < names.length; i++) {
+			foldedNames[i] = fold(names[i]);
+			for (char c : foldedNames[i]) {
+				allChars.set(c);
+			}
+		}
+		this.chars = new char[allChars.cardinality()];
+		for (int c = allChars.nextSetBit(0), i = 0; c >= 0; c = allChars.nextSetBit(c + 1), i++) {
+			chars[i] = (char) c;
+		}
+		int wordCount = (names.length + 63) >>> 6;
+		this.namesByChar = new long[chars.length][wordCount];
+		for (int i = 0; i < names.length; i++) {
+			for (char c : foldedNames[i]) {
+				namesByChar[Arrays.binarySearch(chars, c)][i >>> 6] |= 1L << i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of names.
+	 *
+	 * @return the number of names.
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * Returns the name at the given index.
+	 *
+	 * @param index
+	 *            the index of the name.
+	 * @return the name at the given index.
+	 */
+	public String getName(int index) {
+		return names[index];
+	}
+
+	/**
+	 * Calls the given consumer with the index of each name which can match the
+	 * given token, in the order of the names. All the names are candidates for
+	 * an empty token.
+	 *
+	 * @param token
+	 *            the token, null or empty for all the names.
+	 * @param consumer
+	 *            the consumer of the indexes of the candidates.
+	 */
+	public void forEachCandidate(String token, IntConsumer consumer) {
+		if (token == null || token.isEmpty()) {
+			for (int i = 0; i < names.length; i++) {
+				consumer.accept(i);
+			}
+			return;
+		}
+		for (int i = 0; i < token.length(); i++) {
+			if (Arrays.binarySearch(chars, fold(token.charAt(i))) < 0) {
+				// no name contains this char
+				return;
+			}
+		}
+		for (int word = 0; word < (names.length + 63) >>> 6; word++) {
+			long candidates = -1L;
+			for (int i = 0; i < token.length() && candidates != 0; i++) {
+				candidates &= namesByChar[Arrays.binarySearch(chars, fold(token.charAt(i)))][word];
+			}
+			while (candidates != 0) {
+				int name = (word << 6) + Long.numberOfTrailingZeros(candidates);
+				candidates &= candidates - 1;
+				if (isSubsequence(token, foldedNames[name])) {
+					consumer.accept(name);
+				}
+			}
+		}
+	}
+
+	private static boolean isSubsequence(String token, char[] foldedName) {
+		int t = 0;
+		char expected = fold(token.charAt(0));
+		for (int i = 0; i < foldedName.length && foldedName.length - i >= token.length() - t; i++) {
+			if (foldedName[i] == expected) {
+				if (++t == token.length()) {
+					return true;
+				}
+				expected = fold(token.charAt(t));
+			}
+		}
+		return false;
+	}
+
+	private static char[] fold(String name) {
+		char[] folded = new char[name.length()];
+		for (int i = 0; i < folded.length; i++) {
+			folded[i] = fold(name.charAt(i));
+		}
+		return folded;
+	}
+
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
@@ -23,6 +23,11 @@ public interface ICompletionEntryMatcher {
 			return LCSS.bestSubsequence(completion, token);
 		}
 
+		@Override
+		public int bestScore(String completion, String token) {
+			return LCSS.bestScore(completion, token);
+		}
+
 	};
 	
 	public static ICompletionEntryMatcher START_WITH_MATCHER = new ICompletionEntryMatcher() {
@@ -38,4 +43,20 @@ public interface ICompletionEntryMatcher {
 
 	int[] bestSubsequence(String completion, String token);
 
+	/**
+	 * Returns the score of the best subsequence of the given completion which
+	 * matches the given token, -1 if there is none. The LCS matcher computes it
+	 * without building the subsequence.
+	 * 
+	 * @param completion
+	 *            the completion.
+	 * @param token
+	 *            the token.
+	 * @return the score of the best subsequence or -1 if there is none.
+	 */
+	default int bestScore(String completion, String token) {
+		int[] bestSequence = bestSubsequence(completion, token);
+		return bestSequence != null && bestSequence.length > 0 ? LCSS.scoreSubsequence(bestSequence) : -1;
+	}
+
 }
@@ -22,23 +22,20 @@ public final class LCSS {
 		// Not meant to be instantiated
 	}
 
-	private static final int[] EMPTY_SEQUENCE = new int[0];
-
 	/**
 	 * Returns the best, i.e, the longest continuous sequence - or the empty
 	 * sequence if no subsequence could be found.
 	 */
 	public static int[] bestSubsequence(String completion, String token) {
-		int bestScore = -1;
-		int[] bestSequence = EMPTY_SEQUENCE;
-		for (int[] s1 : findSequences(completion, token)) {
-			int score = scoreSubsequence(s1);
-			if (score > bestScore) {
-				bestScore = score;
-				bestSequence = s1;
-			}
-		}
-		return bestSequence;
+		return SubsequenceScorer.getThreadScorer().bestSubsequence(completion, token);
+	}
+
+	/**
+	 * Returns the score of the best subsequence, -1 if no subsequence could be
+	 * found.
+	 */
+	public static int bestScore(String completion, String token) {
+		return SubsequenceScorer.getThreadScorer().bestScore(completion, token);
 	}
 
 	public static int scoreSubsequence(int[] s1) {
@@ -56,6 +53,6 @@ public final class LCSS {
 	}
 
 	public static boolean containsSubsequence(String completion, String token) {
-		return !findSequences(completion, token).isEmpty();
+		return bestScore(completion, token) >= 0;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,278 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.completion;
+
+import java.util.Arrays;
+
+/**
+ * Dynamic programming version of {@link SequenceFinder} and
+ * {@link LCSS#bestSubsequence(String, String)}, which gives the same best
+ * subsequence and the same score without building the candidate sequences.
+ *
+ * <p>
+ * The row of a token char gives, for each start index in the completion, the
+ * best score of the rest of the token when the char is searched from this index
+ * like {@link SequenceFinder} does: any matching char until the first word
+ * boundary (an upper case letter or another non letter char), then only the
+ * matching chars which don't make it jump to the end of the word. A row is
+ * computed backward from the row of the next token char in
+ * O(|completion|), so the best score takes O(|completion| * |token|) with two
+ * int rows which are kept between the calls. The best subsequence is the first
+ * one in the order of {@link SequenceFinder} with the best score, it's rebuilt
+ * token char by token char from the rows of the next chars, which are all kept
+ * by the backward pass in a table of |token| + 1 rows, also kept between the
+ * calls.
+ * </p>
+ *
+ * <p>
+ * A scorer isn't thread safe, use {@link #getThreadScorer()}.
+ * </p>
+ *
+ */
+public final class SubsequenceScorer {
+
+	private static final int[] EMPTY_SEQUENCE = new int[0];
+
+	// no subsequence
+	private static final int NONE = -1;
+
+	private static final ThreadLocal<SubsequenceScorer> THREAD_SCORER = ThreadLocal
+			.withInitial(SubsequenceScorer::new);
+
+	private int[] row = new int[32];
+	private int[] nextRow = new int[32];
+	// the rows of all the token chars, used to rebuild the best subsequence
+	private int[] table = new int[256];
+
+	/**
+	 * Returns the scorer of the current thread.
+	 *
+	 * @return the scorer of the current thread.
+	 */
+	public static SubsequenceScorer getThreadScorer() {
+		return THREAD_SCORER.get();
+	}
+
+	/**
+	 * Returns the score of the best subsequence of the given completion which
+	 * matches the given token, -1 if there is none, without allocating.
+	 *
+	 * @param completion
+	 *            the completion.
+	 * @param token
+	 *            the token.
+	 * @return the score of the best subsequence or -1 if there is none.
+	 */
+	public int bestScore(String completion, String token) {
+		if (token.isEmpty() || token.length() > completion.length()) {
+			return NONE;
+		}
+		return computeRows(completion, isConstantName(completion), token, 0)[0];
+	}
+
+	/**
+	 * Returns the best, i.e, the longest continuous sequence - or the empty
+	 * sequence if no subsequence could be found.
+	 *
+	 * @param completion
+	 *            the completion.
+	 * @param token
+	 *            the token.
+	 * @return the best subsequence or the empty sequence.
+	 */
+	public int[] bestSubsequence(String completion, String token) {
+		if (token.isEmpty() || token.length() > completion.length()) {
+			return EMPTY_SEQUENCE;
+		}
+		boolean constant = isConstantName(completion);
+		int length = completion.length();
+		int width = length + 1;
+		int size = (token.length() + 1) * width;
+		if (table.length < size) {
+			table = new int[size];
+		}
+		// the row after the last token char
+		Arrays.fill(table, token.length() * width, size, 0);
+		for (int k = token.length() - 1; k >= 0; k--) {
+			computeRow(completion, constant, token.charAt(k), k > 0, table, (k + 1) * width, table, k * width);
+		}
+		if (table[0] == NONE) {
+			return EMPTY_SEQUENCE;
+		}
+		int[] sequence = new int[token.length()];
+		int start = 0;
+		for (int k = 0; k < token.length(); k++) {
+			int next = (k + 1) * width;
+			char t = token.charAt(k);
+			int bestScore = NONE;
+			int best = NONE;
+			// the matching indexes in the order of SequenceFinder
+			boolean mustMatch = false;
+			for (int i = start; i < length; i++) {
+				char c = charAt(completion, i, constant);
+				boolean matches;
+				if (!Character.isLetter(c)) {
+					matches = c == t;
+					mustMatch |= !matches;
+				} else {
+					matches = isSameIgnoreCase(c, t);
+					mustMatch |= Character.isUpperCase(c);
+					if (mustMatch && !matches) {
+						i = jumpToEndOfWord(completion, i, constant);
+					}
+				}
+				if (matches) {
+					int score = table[next + i + 1];
+					if (score != NONE) {
+						if (k > 0 && i == start) {
+							score++;
+						}
+						if (score > bestScore) {
+							bestScore = score;
+							best = i;
+						}
+					}
+				}
+			}
+			sequence[k] = best;
+			start = best + 1;
+		}
+		return sequence;
+	}
+
+	/**
+	 * Returns the row of the given token char: for each start index, the best
+	 * score of the token chars from the given one.
+	 */
+	private int[] computeRows(String completion, boolean constant, String token, int from) {
+		int length = completion.length();
+		if (row.length <= length) {
+			row = new int[length + 1];
+			nextRow = new int[length + 1];
+		}
+		// the row after the last token char
+		int[] next = nextRow;
+		for (int i = 0; i <= length; i++) {
+			next[i] = 0;
+		}
+		int[] current = row;
+		for (int k = token.length() - 1; k >= from; k--) {
+			computeRow(completion, constant, token.charAt(k), k > 0, next, 0, current, 0);
+			int[] swap = next;
+			next = current;
+			current = swap;
+		}
+		return next;
+	}
+
+	/**
+	 * Computes the row of the given token char at the given offset of current
+	 * from the row of the next one at the given offset of next.
+	 *
+	 * <p>
+	 * Before the first word boundary, the index i matches when its char matches,
+	 * and the search continues at i + 1. After it, a char which doesn't match
+	 * makes the search jump to the end of its word, so the best score from i
+	 * after the boundary is the one from i + 1 or from the end of the word.
+	 * </p>
+	 */
+	private static void computeRow(String completion, boolean constant, char t, boolean adjacentScore, int[] next,
+			int nextOffset, int[] current, int currentOffset) {
+		int length = completion.length();
+		current[currentOffset + length] = NONE;
+		// the best score from i + 1 before the first word boundary
+		int free = NONE;
+		// the best score from i + 1 after the first word boundary
+		int after = NONE;
+		// the best score from the index where a jump from i ends
+		int afterJump = NONE;
+		for (int i = length - 1; i >= 0; i--) {
+			char c = charAt(completion, i, constant);
+			int score = next[nextOffset + i + 1];
+			boolean letter = Character.isLetter(c);
+			boolean matches;
+			boolean boundary;
+			int afterFromI;
+			if (!letter) {
+				matches = c == t;
+				boundary = !matches;
+				afterFromI = Math.max(matches ? score : NONE, after);
+			} else {
+				matches = isSameIgnoreCase(c, t);
+				boundary = Character.isUpperCase(c);
+				afterFromI = matches ? Math.max(score, after) : afterJump;
+			}
+			int freeFromI = boundary ? afterFromI : Math.max(matches ? score : NONE, free);
+			if (matches && score != NONE) {
+				// the search from i matches i, which follows the previous token char
+				current[currentOffset + i] = Math.max(adjacentScore ? score + 1 : score, boundary ? after : free);
+			} else {
+				current[currentOffset + i] = freeFromI;
+			}
+			if (!letter) {
+				afterJump = after;
+			} else if (Character.isUpperCase(c)) {
+				afterJump = afterFromI;
+			}
+			after = afterFromI;
+			free = freeFromI;
+		}
+	}
+
+	/**
+	 * Returns the index where {@link SequenceFinder} ends to jump to the end of
+	 * the word of the given index, minus one.
+	 */
+	private static int jumpToEndOfWord(String completion, int i, boolean constant) {
+		for (i++; i < completion.length(); i++) {
+			char next = charAt(completion, i, constant);
+			if (!Character.isLetter(next)) {
+				break;
+			}
+			if (Character.isUpperCase(next)) {
+				i--;
+				break;
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the char of the completion at the given index, a constant name
+	 * being rewritten in camel case like {@link SequenceFinder} does.
+	 */
+	private static char charAt(String completion, int i, boolean constant) {
+		char c = completion.charAt(i);
+		if (constant && Character.isLetterOrDigit(c)) {
+			return i > 0 && !Character.isLetterOrDigit(completion.charAt(i - 1)) ? Character.toUpperCase(c)
+					: Character.toLowerCase(c);
+		}
+		return c;
+	}
+
+	private static boolean isConstantName(String completion) {
+		for (int i = 0; i < completion.length(); i++) {
+			char c = completion.charAt(i);
+			if (Character.isLetter(c) && Character.isLowerCase(c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSameIgnoreCase(char c1, char c2) {
+		if (c1 == c2) {
+			return true;
+		}
+		c2 = Character.isLowerCase(c2) ? Character.toUpperCase(c2) : Character.toLowerCase(c2);
+		return c1 == c2;
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link CharSequence} view of ASCII bytes, where each byte is a char, so that
+ * an ASCII file is parsed without decoding.
+ */
+final class AsciiCharSequence implements CharSequence {
+
+	private final byte[] bytes;
+	private final int offset;
+	private final int length;
+
+	AsciiCharSequence(byte[] bytes) {
+		this(bytes, 0, bytes.length);
+	}
+
+	private AsciiCharSequence(byte[] bytes, int offset, int length) {
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * Returns true if the given bytes are ASCII, which is also valid UTF-8.
+	 */
+	static boolean isAscii(byte[] bytes) {
+		for (byte b : bytes) {
+			if (b < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		return (char) bytes[offset + index];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+		}
+		return new AsciiCharSequence(bytes, offset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+	}
+}
@@ -10,14 +10,15 @@
  */
 package org.eclipse.ec4e.services.model;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.eclipse.ec4e.services.parser.EditorConfigParser;
@@ -28,39 +29,119 @@ public class EditorConfig {
 
 	private final List<Section> sections;
 
-	private File configFile;
+	private Path configPath;
+
+	// compiled when the config is loaded, so that a loaded config can be shared
+	// by several threads
+	private volatile SectionMatcher sectionMatcher;
 
 	public EditorConfig() {
 		this.sections = new ArrayList<>();
 	}
 
 	public static EditorConfig load(File configFile) throws IOException {
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(new FileInputStream(configFile), StandardCharsets.UTF_8));) {
-			EditorConfig config = EditorConfig.load(reader);
-			config.configFile = configFile;
-			return config;
-		}
+		return load(configFile.toPath());
+	}
+
+	/**
+	 * Loads the given .editorconfig file, which can belong to any file system
+	 * (zip file, in-memory, etc).
+	 *
+	 * @param configPath
+	 *            the .editorconfig file.
+	 * @return the loaded config.
+	 * @throws IOException
+	 */
+	public static EditorConfig load(Path configPath) throws IOException {
+		// .editorconfig files are small, they are read with one call and parsed in
+		// place. ASCII content, the most common, is not decoded and malformed UTF-8
+		// is replaced as with a reader.
+		byte[] bytes = Files.readAllBytes(configPath);
+		CharSequence content = AsciiCharSequence.isAscii(bytes) ? new AsciiCharSequence(bytes)
+				: new String(bytes, StandardCharsets.UTF_8);
+		EditorConfigHandler handler = new EditorConfigHandler();
+		EditorConfigParser.getThreadParser(handler).parse(content);
+		return handler.getEditorConfig().loaded(configPath);
 	}
 
 	public static EditorConfig load(Reader reader) throws IOException {
 		EditorConfigHandler handler = new EditorConfigHandler();
-		new EditorConfigParser<Section, Option>(handler).parse(reader);
-		return handler.getEditorConfig();
+		EditorConfigParser.getThreadParser(handler).parse(reader);
+		return handler.getEditorConfig().loaded(null);
+	}
+
+	private EditorConfig loaded(Path configPath) {
+		this.configPath = configPath;
+		this.sectionMatcher = new SectionMatcher(sections);
+		return this;
 	}
 
+	/**
+	 * Returns the loaded .editorconfig file and null if the config was not loaded
+	 * from a file of the default file system.
+	 *
+	 * @return the loaded .editorconfig file.
+	 */
 	public File getConfigFile() {
-		return configFile;
+		return configPath != null && configPath.getFileSystem() == FileSystems.getDefault() ? configPath.toFile()
+				: null;
+	}
+
+	/**
+	 * Returns the loaded .editorconfig file and null if the config was not loaded
+	 * from a file.
+	 *
+	 * @return the loaded .editorconfig file.
+	 */
+	public Path getConfigPath() {
+		return configPath;
 	}
 
 	public void addSection(Section section) {
 		sections.add(section);
+		sectionMatcher = null;
 	}
 
 	public List<Section> getSections() {
 		return sections;
 	}
 
+	/**
+	 * Returns the indexes (in {@link #getSections()}) of the sections which match
+	 * the given file. Sections which only test the file name are found with an
+	 * index by extension and by name, the globs of the other sections are
+	 * compiled in one pattern, so the path of the file is scanned once whatever
+	 * the number of sections.
+	 *
+	 * @param file
+	 *            the file to match.
+	 * @return the indexes of the sections which match the given file.
+	 */
+	public BitSet match(File file) {
+		BitSet matches = new BitSet(sections.size());
+		match(new FilePath(file), matches);
+		return matches;
+	}
+
+	/**
+	 * Sets in the given bit set the indexes (in {@link #getSections()}) of the
+	 * sections which match the given path.
+	 *
+	 * @param path
+	 *            the path of the file to match.
+	 * @param matches
+	 *            the bit set to update.
+	 */
+	public void match(FilePath path, BitSet matches) {
+		SectionMatcher sectionMatcher = this.sectionMatcher;
+		if (sectionMatcher == null) {
+			// sections were added after the load
+			sectionMatcher = new SectionMatcher(sections);
+			this.sectionMatcher = sectionMatcher;
+		}
+		sectionMatcher.match(path, matches);
+	}
+
 	public Boolean getRoot() {
 		return root;
 	}
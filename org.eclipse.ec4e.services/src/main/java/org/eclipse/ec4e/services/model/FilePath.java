@@ -0,0 +1,82 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Path of a file where '/' is the separator, as expected by the globs of the
+ * sections. It is computed once and shared by the sections of all the
+ * .editorconfig files which are applied to the file.
+ *
+ * <p>
+ * When the path doesn't contain '\', the path of the {@link File} is used
+ * without copy.
+ * </p>
+ *
+ */
+public final class FilePath implements CharSequence {
+
+	private final String path;
+	private final int nameStart;
+
+	public FilePath(File file) {
+		this(file.getPath());
+	}
+
+	public FilePath(Path path) {
+		this(path.toString());
+	}
+
+	public FilePath(String path) {
+		this.path = path.indexOf('\\') >= 0 ? path.replace('\\', '/') : path;
+		this.nameStart = this.path.lastIndexOf('/') + 1;
+	}
+
+	/**
+	 * Returns true if the path contains a '/'.
+	 *
+	 * @return true if the path contains a '/'.
+	 */
+	public boolean hasParent() {
+		return nameStart > 0;
+	}
+
+	/**
+	 * Returns the index of the name of the file (after the last '/').
+	 *
+	 * @return the index of the name of the file (after the last '/').
+	 */
+	public int getNameStart() {
+		return nameStart;
+	}
+
+	@Override
+	public int length() {
+		return path.length();
+	}
+
+	@Override
+	public char charAt(int index) {
+		return path.charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return path.subSequence(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+}
@@ -0,0 +1,477 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import static org.eclipse.ec4e.services.model.GlobPattern.ANY;
+import static org.eclipse.ec4e.services.model.GlobPattern.ANY_BUT_SLASH;
+import static org.eclipse.ec4e.services.model.GlobPattern.CHAR;
+import static org.eclipse.ec4e.services.model.GlobPattern.CLASS;
+import static org.eclipse.ec4e.services.model.GlobPattern.FAIL;
+import static org.eclipse.ec4e.services.model.GlobPattern.JUMP;
+import static org.eclipse.ec4e.services.model.GlobPattern.MATCH;
+import static org.eclipse.ec4e.services.model.GlobPattern.RANGE;
+import static org.eclipse.ec4e.services.model.GlobPattern.SPLIT;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a glob pattern to the automaton of a {@link GlobPattern}.
+ *
+ * <p>
+ * Supported syntax (see
+ * https://github.com/editorconfig/editorconfig/wiki/EditorConfig-Specification):
+ * </p>
+ * <ul>
+ * <li><code>*</code> matches any string of characters, except path separators
+ * (/)</li>
+ * <li><code>**</code> matches any string of characters</li>
+ * <li><code>?</code> matches any single character</li>
+ * <li><code>[name]</code> matches any single character in name</li>
+ * <li><code>[!name]</code> matches any single character not in name</li>
+ * <li><code>{s1,s2,s3}</code> matches any of the strings given (separated by
+ * commas)</li>
+ * <li><code>{num1..num2}</code> matches any integer numbers between num1 and
+ * num2, where num1 and num2 can be either positive or negative</li>
+ * </ul>
+ *
+ */
+class GlobCompiler {
+
+	// comparison of the scanned digits of a number with the same digits of a bound
+	private static final int LESS = 0;
+	private static final int EQUAL = 1;
+	private static final int GREATER = 2;
+
+	private int[] ops;
+	private int[] args;
+	private int[] args2;
+	private int size;
+	private final List<char[]> classes;
+	private final List<int[]> rangeTables;
+
+	GlobCompiler() {
+		this.ops = new int[16];
+		this.args = new int[16];
+		this.args2 = new int[16];
+		this.classes = new ArrayList<>();
+		this.rangeTables = new ArrayList<>();
+	}
+
+	/**
+	 * Compiles the given glob which is prefixed with the given literal.
+	 */
+	GlobPattern compile(String literalPrefix, String glob) {
+		emitGlob(literalPrefix, glob);
+		emit(MATCH, 0, 0);
+		return build(literalPrefix + glob);
+	}
+
+	/**
+	 * Compiles the given globs (prefixed with the literal of the same index) to
+	 * one automaton where the final state of each glob holds its id, so that all
+	 * matching globs are collected in one pass over the path.
+	 *
+	 * <p>
+	 * The globs without literal prefix which start with <code>**</code> followed
+	 * by '/' (ex : the globs of sections without '/') share the same head, so the
+	 * whole path is scanned by one loop instead of one loop per glob.
+	 * </p>
+	 */
+	GlobPattern compile(List<String> literalPrefixes, List<String> globs, int[] ids) {
+		List<Integer> unshared = new ArrayList<>();
+		List<Integer> shared = new ArrayList<>();
+		for (int i = 0; i < globs.size(); i++) {
+			String glob = globs.get(i);
+			if (literalPrefixes.get(i).isEmpty() && glob.startsWith("**/") && !glob.startsWith("**/", 3)) {
+				shared.add(i);
+			} else {
+				unshared.add(i);
+			}
+		}
+		int branches = unshared.size() + (shared.isEmpty() ? 0 : 1);
+		if (branches == 0) {
+			emit(FAIL, 0, 0);
+		}
+		for (int j = 0; j < branches; j++) {
+			int split = j < branches - 1 ? emit(SPLIT, size + 1, 0) : -1;
+			if (j < unshared.size()) {
+				int i = unshared.get(j);
+				emitGlob(literalPrefixes.get(i), globs.get(i));
+				emit(MATCH, ids[i], 0);
+			} else {
+				emitStar(ANY);
+				emit(CHAR, '/', 0);
+				for (int k = 0; k < shared.size(); k++) {
+					int i = shared.get(k);
+					String glob = globs.get(i);
+					int sharedSplit = k < shared.size() - 1 ? emit(SPLIT, size + 1, 0) : -1;
+					compile(glob, 3, glob.length());
+					emit(MATCH, ids[i], 0);
+					if (sharedSplit != -1) {
+						args2[sharedSplit] = size;
+					}
+				}
+			}
+			if (split != -1) {
+				args2[split] = size;
+			}
+		}
+		StringBuilder pattern = new StringBuilder();
+		for (int i = 0; i < globs.size(); i++) {
+			if (i > 0) {
+				pattern.append(", ");
+			}
+			pattern.append(literalPrefixes.get(i)).append(globs.get(i));
+		}
+		return build(pattern.toString());
+	}
+
+	private GlobPattern build(String pattern) {
+		return new GlobPattern(pattern, Arrays.copyOf(ops, size), Arrays.copyOf(args, size),
+				Arrays.copyOf(args2, size), classes.toArray(new char[classes.size()][]),
+				rangeTables.toArray(new int[rangeTables.size()][]));
+	}
+
+	private void emitGlob(String literalPrefix, String glob) {
+		if (literalPrefix.endsWith("/") && glob.startsWith("**/")) {
+			// "dir/" + "**/name" must match "dir/name" like "dir/**/name"
+			literalPrefix = literalPrefix.substring(0, literalPrefix.length() - 1);
+			glob = "/" + glob;
+		}
+		for (int i = 0; i < literalPrefix.length(); i++) {
+			emit(CHAR, literalPrefix.charAt(i), 0);
+		}
+		compile(glob, 0, glob.length());
+	}
+
+	/**
+	 * Compiles the glob between the given start (inclusive) and end (exclusive)
+	 * indexes.
+	 */
+	private void compile(String glob, int start, int end) {
+		int i = start;
+		while (i < end) {
+			char c = glob.charAt(i);
+			switch (c) {
+			case '\\':
+				if (i + 1 < end) {
+					emit(CHAR, glob.charAt(i + 1), 0);
+				}
+				i += 2;
+				break;
+			case '*':
+				if (i + 1 < end && glob.charAt(i + 1) == '*') {
+					emitStar(ANY);
+					i += 2;
+				} else {
+					emitStar(ANY_BUT_SLASH);
+					i++;
+				}
+				break;
+			case '?':
+				emit(ANY, 0, 0);
+				i++;
+				break;
+			case '[':
+				i = compileClass(glob, i, end);
+				break;
+			case '{':
+				i = compileBraces(glob, i, end);
+				break;
+			case '/':
+				if (glob.startsWith("**/", i + 1) && i + 4 <= end) {
+					// "/**/" matches "/" or "/.../"
+					int split = emit(SPLIT, 0, 0);
+					args[split] = size;
+					emit(CHAR, '/', 0);
+					int jump = emit(JUMP, 0, 0);
+					args2[split] = size;
+					emit(CHAR, '/', 0);
+					emitStar(ANY);
+					emit(CHAR, '/', 0);
+					args[jump] = size;
+					i += 4;
+				} else {
+					emit(CHAR, c, 0);
+					i++;
+				}
+				break;
+			default:
+				emit(CHAR, c, 0);
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Compiles the class which starts at the given index and returns the index
+	 * after the class. An unclosed class or a class which contains a path separator
+	 * is a literal '['.
+	 */
+	private int compileClass(String glob, int start, int end) {
+		int i = start + 1;
+		boolean negated = i < end && (glob.charAt(i) == '!' || glob.charAt(i) == '^');
+		if (negated) {
+			i++;
+		}
+		StringBuilder ranges = new StringBuilder();
+		while (i < end && glob.charAt(i) != ']') {
+			char c = glob.charAt(i);
+			if (c == '/') {
+				break;
+			}
+			if (c == '\\' && i + 1 < end) {
+				c = glob.charAt(++i);
+			}
+			char to = c;
+			if (i + 2 < end && glob.charAt(i + 1) == '-' && glob.charAt(i + 2) != ']') {
+				to = glob.charAt(i + 2);
+				if (to == '\\' && i + 3 < end) {
+					to = glob.charAt(i + 3);
+					i++;
+				}
+				i += 2;
+			}
+			ranges.append(c).append(to);
+			i++;
+		}
+		if (i >= end || glob.charAt(i) != ']' || ranges.length() == 0) {
+			emit(CHAR, '[', 0);
+			return start + 1;
+		}
+		emitClass(ranges.toString().toCharArray(), negated);
+		return i + 1;
+	}
+
+	/**
+	 * Compiles the braces which starts at the given index and returns the index
+	 * after the braces. Unclosed braces are a literal '{'.
+	 */
+	private int compileBraces(String glob, int start, int end) {
+		List<Integer> commas = new ArrayList<>();
+		int level = 0;
+		int close = -1;
+		for (int i = start + 1; i < end && close == -1; i++) {
+			switch (glob.charAt(i)) {
+			case '\\':
+				i++;
+				break;
+			case '{':
+				level++;
+				break;
+			case '}':
+				if (level == 0) {
+					close = i;
+				}
+				level--;
+				break;
+			case ',':
+				if (level == 0) {
+					commas.add(i);
+				}
+				break;
+			}
+		}
+		if (close == -1) {
+			emit(CHAR, '{', 0);
+			return start + 1;
+		}
+		if (commas.isEmpty()) {
+			String choice = glob.substring(start + 1, close);
+			int[] range = getNumericRange(choice);
+			if (range != null) {
+				emitNumericRange(range[0], range[1]);
+			} else {
+				// {single} matches the literal braces
+				emit(CHAR, '{', 0);
+				compile(glob, start + 1, close);
+				emit(CHAR, '}', 0);
+			}
+			return close + 1;
+		}
+		// {s1,s2,s3}
+		commas.add(close);
+		List<Integer> jumps = new ArrayList<>();
+		int from = start + 1;
+		for (int j = 0; j < commas.size(); j++) {
+			int to = commas.get(j);
+			if (j < commas.size() - 1) {
+				int split = emit(SPLIT, size + 1, 0);
+				compile(glob, from, to);
+				jumps.add(emit(JUMP, 0, 0));
+				args2[split] = size;
+			} else {
+				compile(glob, from, to);
+			}
+			from = to + 1;
+		}
+		for (int jump : jumps) {
+			args[jump] = size;
+		}
+		return close + 1;
+	}
+
+	private static int[] getNumericRange(String choice) {
+		int separator = choice.indexOf("..");
+		if (separator < 0) {
+			return null;
+		}
+		try {
+			int start = Integer.parseInt(choice.substring(0, separator));
+			int end = Integer.parseInt(choice.substring(separator + 2));
+			return new int[] { start, end };
+		} catch (NumberFormatException ignored) {
+		}
+		return null;
+	}
+
+	/**
+	 * Emits the automaton which matches the decimal numbers (without leading
+	 * zero) between the given bounds. Only positive numbers can match since a
+	 * path doesn't contain a sign before a number.
+	 *
+	 * <p>
+	 * Each state is a {@link GlobPattern#RANGE} instruction which knows the count
+	 * of scanned digits and how the scanned digits compare with the same digits of
+	 * both bounds, so the bounds are checked while scanning the digits.
+	 * </p>
+	 */
+	private void emitNumericRange(int min, int max) {
+		min = Math.max(min, 1);
+		if (min > max) {
+			emit(FAIL, 0, 0);
+			return;
+		}
+		String lower = String.valueOf(min);
+		String upper = String.valueOf(max);
+		List<Integer> states = new ArrayList<>();
+		Map<Integer, Integer> indexes = new HashMap<>();
+		List<int[]> transitions = new ArrayList<>();
+		// no scanned digit
+		int initialState = EQUAL * 3 + EQUAL;
+		states.add(initialState);
+		indexes.put(initialState, 0);
+		for (int i = 0; i < states.size(); i++) {
+			int[] next = new int[10];
+			for (int digit = 0; digit < 10; digit++) {
+				int state = nextRangeState(states.get(i), digit, lower, upper);
+				if (state == -1) {
+					next[digit] = -1;
+				} else {
+					Integer index = indexes.get(state);
+					if (index == null) {
+						index = states.size();
+						indexes.put(state, index);
+						states.add(state);
+					}
+					next[digit] = index;
+				}
+			}
+			transitions.add(next);
+		}
+		// remove the transitions to states which can't reach an accepting state
+		boolean[] live = new boolean[states.size()];
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < live.length; i++) {
+				if (!live[i]) {
+					live[i] = isAccepting(states.get(i), lower, upper);
+					for (int next : transitions.get(i)) {
+						live[i] |= next != -1 && live[next];
+					}
+					changed |= live[i];
+				}
+			}
+		}
+		int start = size;
+		int end = start + states.size();
+		for (int i = 0; i < states.size(); i++) {
+			int[] table = new int[10];
+			for (int digit = 0; digit < 10; digit++) {
+				int next = transitions.get(i)[digit];
+				table[digit] = next != -1 && live[next] ? start + next : -1;
+			}
+			rangeTables.add(table);
+			emit(RANGE, rangeTables.size() - 1, isAccepting(states.get(i), lower, upper) ? end : -1);
+		}
+	}
+
+	/**
+	 * Returns the state of a numeric range after the given digit and -1 if no
+	 * number can match. A state is encoded with the count of scanned digits and
+	 * the comparison of the scanned digits with both bounds.
+	 */
+	private static int nextRangeState(int state, int digit, String lower, String upper) {
+		int count = state / 9;
+		int lowerComparison = state / 3 % 3;
+		int upperComparison = state % 3;
+		if ((count == 0 && digit == 0) || count == upper.length()) {
+			// leading zero or too many digits
+			return -1;
+		}
+		if (lowerComparison == EQUAL) {
+			lowerComparison = count < lower.length() ? compare(digit, lower.charAt(count) - '0') : GREATER;
+		}
+		if (count + 1 > lower.length()) {
+			// longer numbers are greater than the lower bound
+			lowerComparison = GREATER;
+		}
+		if (upperComparison == EQUAL) {
+			upperComparison = compare(digit, upper.charAt(count) - '0');
+		}
+		return (count + 1) * 9 + lowerComparison * 3 + upperComparison;
+	}
+
+	private static boolean isAccepting(int state, String lower, String upper) {
+		int count = state / 9;
+		int lowerComparison = state / 3 % 3;
+		int upperComparison = state % 3;
+		return count >= lower.length() && count <= upper.length()
+				&& (count > lower.length() || lowerComparison != LESS)
+				&& (count < upper.length() || upperComparison != GREATER);
+	}
+
+	private static int compare(int digit, int boundDigit) {
+		return digit < boundDigit ? LESS : digit == boundDigit ? EQUAL : GREATER;
+	}
+
+	private void emitClass(char[] ranges, boolean negated) {
+		classes.add(ranges);
+		emit(CLASS, classes.size() - 1, negated ? 1 : 0);
+	}
+
+	/**
+	 * Emits a loop over the given single character instruction.
+	 */
+	private void emitStar(int op) {
+		int split = emit(SPLIT, size + 1, 0);
+		emit(op, 0, 0);
+		emit(JUMP, split, 0);
+		args2[split] = size;
+	}
+
+	private int emit(int op, int arg, int arg2) {
+		if (size == ops.length) {
+			ops = Arrays.copyOf(ops, size * 2);
+			args = Arrays.copyOf(args, size * 2);
+			args2 = Arrays.copyOf(args2, size * 2);
+		}
+		ops[size] = op;
+		args[size] = arg;
+		args2[size] = arg2;
+		return size++;
+	}
+}
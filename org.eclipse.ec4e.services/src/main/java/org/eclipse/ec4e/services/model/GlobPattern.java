@@ -0,0 +1,581 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compiled .editorconfig glob pattern.
+ *
+ * <p>
+ * The glob is compiled by {@link GlobCompiler} to a non deterministic
+ * automaton. The states of the equivalent deterministic automaton (over the
+ * classes of characters used by the glob) are built lazily by the paths which
+ * are matched, so matching a path generally does one table lookup per character
+ * and doesn't allocate. When the deterministic automaton becomes too big, the
+ * non deterministic automaton is simulated over the characters of the path
+ * instead (each state is visited once per character).
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe and matching never waits for another thread.
+ * </p>
+ *
+ */
+public final class GlobPattern {
+
+	// Instructions of the automaton
+	static final int CHAR = 0; // matches the char 'arg'
+	static final int ANY = 1; // matches any char
+	static final int ANY_BUT_SLASH = 2; // matches any char except '/'
+	static final int CLASS = 3; // matches a char of classes[arg] (or not when negated is 1)
+	static final int SPLIT = 4; // goes to 'arg' and 'arg2'
+	static final int JUMP = 5; // goes to 'arg'
+	static final int MATCH = 6; // matches the whole path with the glob of id 'arg'
+	static final int FAIL = 7; // never matches
+	static final int RANGE = 8; // matches a digit of a number, goes to 'arg2' if it isn't -1
+
+	// Maximum number of states of the deterministic automaton
+	private static final int MAX_DFA_STATES = 4096;
+	// Transition of the deterministic automaton which is not computed yet
+	private static final int UNKNOWN = -2;
+	// Transition of the deterministic automaton to the dead state
+	private static final int DEAD = -1;
+
+	private static final int[] NO_MATCHES = new int[0];
+
+	private static final ThreadLocal<State> STATE = new ThreadLocal<State>() {
+		@Override
+		protected State initialValue() {
+			return new State();
+		}
+	};
+
+	/**
+	 * Reusable lists of the simulation, one per thread.
+	 */
+	private static class State {
+
+		private int[] current = new int[0];
+		private int[] next = new int[0];
+		private int[] stack = new int[0];
+		private int[] marks = new int[0];
+		private int mark;
+
+		void ensureCapacity(int size) {
+			if (current.length < size) {
+				current = new int[size];
+				next = new int[size];
+				stack = new int[size * 2 + 1];
+				marks = new int[size];
+				mark = 0;
+			}
+		}
+
+		int nextMark() {
+			if (mark == Integer.MAX_VALUE) {
+				Arrays.fill(marks, 0);
+				mark = 0;
+			}
+			return ++mark;
+		}
+	}
+
+	/**
+	 * Immutable snapshot of the deterministic automaton. Characters are grouped
+	 * in classes of characters which are matched by the same instructions.
+	 */
+	private static class Dfa {
+
+		// first character of each class
+		private final char[] classStarts;
+		// class of each ASCII character
+		private final int[] asciiClasses;
+		// next state of 'state * classStarts.length + class', DEAD or UNKNOWN
+		private final int[] transitions;
+		// sorted indexes of the globs which are matched by each state
+		private final int[][] matches;
+
+		Dfa(char[] classStarts, int[] asciiClasses, int[] transitions, int[][] matches) {
+			this.classStarts = classStarts;
+			this.asciiClasses = asciiClasses;
+			this.transitions = transitions;
+			this.matches = matches;
+		}
+
+		/**
+		 * Returns the indexes of the globs which match the given path and null if a
+		 * transition is not computed yet.
+		 */
+		int[] match(CharSequence path) {
+			int classCount = classStarts.length;
+			int state = 0;
+			int length = path.length();
+			for (int i = 0; i < length; i++) {
+				state = transitions[state * classCount + classOf(classStarts, asciiClasses, path.charAt(i))];
+				if (state < 0) {
+					return state == DEAD ? NO_MATCHES : null;
+				}
+			}
+			return matches[state];
+		}
+	}
+
+	/**
+	 * Computes the states of the deterministic automaton with the subset
+	 * construction.
+	 */
+	private class DfaBuilder {
+
+		private final char[] classStarts;
+		private final int[] asciiClasses;
+		private final Map<StateSet, Integer> ids;
+		private final List<int[]> sets;
+		private final List<int[]> matches;
+		private final int[] list;
+		private int[] transitions;
+		private boolean full;
+
+		DfaBuilder() {
+			this.classStarts = getClassStarts();
+			this.asciiClasses = new int[128];
+			for (char c = 0; c < 128; c++) {
+				asciiClasses[c] = searchClass(classStarts, c);
+			}
+			this.ids = new HashMap<>();
+			this.sets = new ArrayList<>();
+			this.matches = new ArrayList<>();
+			this.list = new int[ops.length];
+			this.transitions = new int[0];
+			State state = STATE.get();
+			state.ensureCapacity(ops.length);
+			addSet(sort(list, addState(state, list, 0, 0, state.nextMark())));
+		}
+
+		/**
+		 * Computes the missing transitions used by the given path and returns the
+		 * new snapshot of the automaton.
+		 */
+		Dfa build(CharSequence path) {
+			int classCount = classStarts.length;
+			int state = 0;
+			int length = path.length();
+			for (int i = 0; i < length && state >= 0; i++) {
+				int charClass = classOf(classStarts, asciiClasses, path.charAt(i));
+				int transition = state * classCount + charClass;
+				if (transitions[transition] == UNKNOWN) {
+					transitions[transition] = computeTransition(state, classStarts[charClass]);
+				}
+				state = transitions[transition];
+			}
+			return new Dfa(classStarts, asciiClasses, Arrays.copyOf(transitions, sets.size() * classCount),
+					matches.toArray(new int[matches.size()][]));
+		}
+
+		boolean isFull() {
+			return full;
+		}
+
+		private int computeTransition(int current, char c) {
+			State state = STATE.get();
+			state.ensureCapacity(ops.length);
+			int mark = state.nextMark();
+			int size = 0;
+			for (int pc : sets.get(current)) {
+				int next = step(pc, c);
+				if (next != -1) {
+					size = addState(state, list, size, next, mark);
+				}
+			}
+			if (size == 0) {
+				return DEAD;
+			}
+			int[] set = sort(list, size);
+			Integer id = ids.get(new StateSet(set));
+			if (id != null) {
+				return id;
+			}
+			if (sets.size() == MAX_DFA_STATES) {
+				full = true;
+				return UNKNOWN;
+			}
+			return addSet(set);
+		}
+
+		private int addSet(int[] set) {
+			int id = sets.size();
+			ids.put(new StateSet(set), id);
+			sets.add(set);
+			int count = 0;
+			int[] indexes = new int[set.length];
+			for (int pc : set) {
+				if (ops[pc] == MATCH) {
+					indexes[count++] = args[pc];
+				}
+			}
+			matches.add(count > 0 ? sort(indexes, count) : NO_MATCHES);
+			int size = sets.size() * classStarts.length;
+			if (transitions.length < size) {
+				int oldLength = transitions.length;
+				transitions = Arrays.copyOf(transitions, Math.max(size, oldLength * 2));
+				Arrays.fill(transitions, oldLength, transitions.length, UNKNOWN);
+			}
+			return id;
+		}
+	}
+
+	/**
+	 * Sorted set of states of the non deterministic automaton, used as key of a
+	 * state of the deterministic automaton.
+	 */
+	private static class StateSet {
+
+		private final int[] states;
+		private final int hashCode;
+
+		StateSet(int[] states) {
+			this.states = states;
+			this.hashCode = Arrays.hashCode(states);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof StateSet && Arrays.equals(states, ((StateSet) obj).states);
+		}
+	}
+
+	private final String pattern;
+	private final int[] ops;
+	private final int[] args;
+	private final int[] args2;
+	private final char[][] classes;
+	private final int[][] rangeTables;
+	private final DfaBuilder dfaBuilder;
+	// guards dfaBuilder
+	private final ReentrantLock dfaLock;
+	private volatile Dfa dfa;
+	private volatile boolean dfaFull;
+
+	GlobPattern(String pattern, int[] ops, int[] args, int[] args2, char[][] classes, int[][] rangeTables) {
+		this.pattern = pattern;
+		this.ops = ops;
+		this.args = args;
+		this.args2 = args2;
+		this.classes = classes;
+		this.rangeTables = rangeTables;
+		this.dfaBuilder = new DfaBuilder();
+		this.dfaLock = new ReentrantLock();
+		this.dfa = dfaBuilder.build("");
+	}
+
+	/**
+	 * Compiles the given glob pattern.
+	 *
+	 * @param glob
+	 *            the glob pattern.
+	 * @return the compiled glob pattern.
+	 */
+	public static GlobPattern compile(String glob) {
+		return compile("", glob);
+	}
+
+	/**
+	 * Compiles the given glob pattern which is prefixed with the given literal
+	 * (generally the directory of the .editorconfig file).
+	 *
+	 * @param literalPrefix
+	 *            the literal prefix where glob characters are not interpreted.
+	 * @param glob
+	 *            the glob pattern.
+	 * @return the compiled glob pattern.
+	 */
+	public static GlobPattern compile(String literalPrefix, String glob) {
+		return new GlobCompiler().compile(literalPrefix, glob);
+	}
+
+	/**
+	 * Compiles the given globs (each one prefixed with the literal of the same
+	 * index) to one pattern which collects the indexes of the matching globs with
+	 * {@link #collectMatches(CharSequence, BitSet)}.
+	 *
+	 * @param literalPrefixes
+	 *            the literal prefixes.
+	 * @param globs
+	 *            the glob patterns.
+	 * @return the compiled glob patterns.
+	 */
+	public static GlobPattern compile(List<String> literalPrefixes, List<String> globs) {
+		int[] ids = new int[globs.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = i;
+		}
+		return compile(literalPrefixes, globs, ids);
+	}
+
+	/**
+	 * Compiles the given globs like {@link #compile(List, List)} where the id
+	 * collected for a glob is the value of the same index in the given ids.
+	 */
+	static GlobPattern compile(List<String> literalPrefixes, List<String> globs, int[] ids) {
+		return new GlobCompiler().compile(literalPrefixes, globs, ids);
+	}
+
+	/**
+	 * Returns true if the whole given path matches the glob pattern and false
+	 * otherwise.
+	 *
+	 * @param path
+	 *            the path where '/' is the separator.
+	 * @return true if the whole given path matches the glob pattern and false
+	 *         otherwise.
+	 */
+	public boolean matches(CharSequence path) {
+		int[] matches = matchDfa(path);
+		if (matches != null) {
+			return matches.length > 0;
+		}
+		State state = STATE.get();
+		int size = simulate(state, path);
+		int[] current = state.current;
+		for (int j = 0; j < size; j++) {
+			if (ops[current[j]] == MATCH) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sets in the given bit set the id of each glob which matches the whole given
+	 * path (its index by default and 0 for a pattern compiled from one glob).
+	 *
+	 * @param path
+	 *            the path where '/' is the separator.
+	 * @param matches
+	 *            the bit set to update.
+	 */
+	public void collectMatches(CharSequence path, BitSet matches) {
+		int[] indexes = matchDfa(path);
+		if (indexes != null) {
+			for (int index : indexes) {
+				matches.set(index);
+			}
+			return;
+		}
+		State state = STATE.get();
+		int size = simulate(state, path);
+		int[] current = state.current;
+		for (int j = 0; j < size; j++) {
+			int pc = current[j];
+			if (ops[pc] == MATCH) {
+				matches.set(args[pc]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the indexes of the globs which match the given path with the
+	 * deterministic automaton and null if it is too big to match the path or if
+	 * another thread is computing new states. Matching never waits for another
+	 * thread.
+	 */
+	private int[] matchDfa(CharSequence path) {
+		int[] matches = dfa.match(path);
+		if (matches == null && !dfaFull && dfaLock.tryLock()) {
+			try {
+				Dfa newDfa = dfaBuilder.build(path);
+				dfa = newDfa;
+				dfaFull = dfaBuilder.isFull();
+				matches = newDfa.match(path);
+			} finally {
+				dfaLock.unlock();
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Runs the automaton over the given path and returns the size of the list of
+	 * the final states which is stored in state.current.
+	 */
+	private int simulate(State state, CharSequence path) {
+		state.ensureCapacity(ops.length);
+		int[] current = state.current;
+		int[] next = state.next;
+		int size = addState(state, current, 0, 0, state.nextMark());
+		int length = path.length();
+		for (int i = 0; i < length && size > 0; i++) {
+			char c = path.charAt(i);
+			int mark = state.nextMark();
+			int nextSize = 0;
+			for (int j = 0; j < size; j++) {
+				int pc = step(current[j], c);
+				if (pc != -1) {
+					nextSize = addState(state, next, nextSize, pc, mark);
+				}
+			}
+			int[] tmp = current;
+			current = next;
+			next = tmp;
+			size = nextSize;
+		}
+		state.current = current;
+		state.next = next;
+		return size;
+	}
+
+	/**
+	 * Returns the first character of each class of characters, where all
+	 * characters of a class are matched by the same instructions.
+	 */
+	private char[] getClassStarts() {
+		BitSet starts = new BitSet(Character.MAX_VALUE + 2);
+		starts.set(0);
+		for (int pc = 0; pc < ops.length; pc++) {
+			switch (ops[pc]) {
+			case CHAR:
+				starts.set(args[pc]);
+				starts.set(args[pc] + 1);
+				break;
+			case ANY_BUT_SLASH:
+				starts.set('/');
+				starts.set('/' + 1);
+				break;
+			case CLASS:
+				char[] ranges = classes[args[pc]];
+				for (int i = 0; i < ranges.length; i += 2) {
+					starts.set(ranges[i]);
+					starts.set(ranges[i + 1] + 1);
+				}
+				break;
+			case RANGE:
+				starts.set('0', '9' + 2);
+				break;
+			}
+		}
+		starts.clear(Character.MAX_VALUE + 1);
+		char[] result = new char[starts.cardinality()];
+		int i = 0;
+		for (int c = starts.nextSetBit(0); c >= 0; c = starts.nextSetBit(c + 1)) {
+			result[i++] = (char) c;
+		}
+		return result;
+	}
+
+	private static int classOf(char[] classStarts, int[] asciiClasses, char c) {
+		return c < 128 ? asciiClasses[c] : searchClass(classStarts, c);
+	}
+
+	private static int searchClass(char[] classStarts, char c) {
+		int low = 0;
+		int high = classStarts.length - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (classStarts[middle] <= c) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	private static int[] sort(int[] list, int size) {
+		int[] sorted = Arrays.copyOf(list, size);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * Returns the state after the given char from the given state and -1 if the
+	 * char doesn't match.
+	 */
+	private int step(int pc, char c) {
+		switch (ops[pc]) {
+		case CHAR:
+			return c == args[pc] ? pc + 1 : -1;
+		case ANY:
+			return pc + 1;
+		case ANY_BUT_SLASH:
+			return c != '/' ? pc + 1 : -1;
+		case CLASS:
+			return inClass(classes[args[pc]], c) != (args2[pc] == 1) ? pc + 1 : -1;
+		case RANGE:
+			return c >= '0' && c <= '9' ? rangeTables[args[pc]][c - '0'] : -1;
+		default:
+			return -1;
+		}
+	}
+
+	private static boolean inClass(char[] ranges, char c) {
+		for (int i = 0; i < ranges.length; i += 2) {
+			if (c >= ranges[i] && c <= ranges[i + 1]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the given state and the states reachable with epsilon transitions to
+	 * the given list.
+	 */
+	private int addState(State state, int[] list, int size, int start, int mark) {
+		int[] stack = state.stack;
+		int[] marks = state.marks;
+		int top = 0;
+		stack[top++] = start;
+		while (top > 0) {
+			int pc = stack[--top];
+			if (marks[pc] == mark) {
+				continue;
+			}
+			marks[pc] = mark;
+			switch (ops[pc]) {
+			case SPLIT:
+				stack[top++] = args2[pc];
+				stack[top++] = args[pc];
+				break;
+			case JUMP:
+				stack[top++] = args[pc];
+				break;
+			case FAIL:
+				break;
+			case RANGE:
+				list[size++] = pc;
+				if (args2[pc] != -1) {
+					// the scanned digits are a number of the range
+					stack[top++] = args2[pc];
+				}
+				break;
+			default:
+				list[size++] = pc;
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+}
@@ -10,12 +10,19 @@
  */
 package org.eclipse.ec4e.services.model;
 
+import org.eclipse.ec4e.services.model.options.ConfigPropertyType;
+
 public class Option {
 
 	private String name;
 
 	private String value;
 
+	// parsed when the name or the value is set
+	private ConfigPropertyType<?> type;
+	private Object parsedValue;
+	private boolean valid = true;
+
 	/**
 	 * @return the name
 	 */
@@ -29,6 +36,8 @@ public class Option {
 	 */
 	public void setName(String name) {
 		this.name = name;
+		this.type = ConfigPropertyType.valueOf(name);
+		parseValue();
 	}
 
 	/**
@@ -44,6 +53,45 @@ public class Option {
 	 */
 	public void setValue(String value) {
 		this.value = value;
+		parseValue();
+	}
+
+	private void parseValue() {
+		if (type == null) {
+			parsedValue = null;
+			valid = true;
+		} else if (value == null) {
+			parsedValue = null;
+			valid = false;
+		} else {
+			parsedValue = type.parse(value);
+			valid = parsedValue != null || type.isValid(value);
+		}
+	}
+
+	/**
+	 * Returns the type of this option and null if the name is not a known
+	 * property.
+	 *
+	 * @return the type of this option and null if the name is not a known
+	 *         property.
+	 */
+	public ConfigPropertyType<?> getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the value parsed with the given type when the value was set, and
+	 * null if the given type is not the type of this option or if the value is
+	 * not valid.
+	 *
+	 * @param type
+	 *            the type of this option.
+	 * @return the parsed value.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getParsedValue(ConfigPropertyType<T> type) {
+		return type == this.type ? (T) parsedValue : null;
 	}
 
 	@Override
@@ -51,11 +99,27 @@ public class Option {
 		return new StringBuilder(name).append(" = ").append(value).toString();
 	}
 
+	/**
+	 * Returns the int value of this option. The value of a known int property is
+	 * parsed once and -1 is returned if it is not valid, the value of an unknown
+	 * property is parsed on each call.
+	 *
+	 * @return the int value of this option.
+	 */
 	public int getIntValue() {
-		return Integer.parseInt(getValue());
+		if (parsedValue instanceof Integer) {
+			return (Integer) parsedValue;
+		}
+		return type == null ? Integer.parseInt(getValue()) : -1;
 	}
 
+	/**
+	 * Returns true if the value is valid for the type of this option, or if the
+	 * name is not a known property.
+	 *
+	 * @return true if the value is valid for the type of this option.
+	 */
 	public boolean isValid() {
-		return true;
+		return valid;
 	}
 }
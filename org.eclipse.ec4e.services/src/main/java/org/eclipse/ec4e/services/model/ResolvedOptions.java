@@ -0,0 +1,162 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.ec4e.services.model.options.ConfigPropertyType;
+import org.eclipse.ec4e.services.model.options.EndOfLineOption;
+import org.eclipse.ec4e.services.model.options.IndentStyleOption;
+
+/**
+ * Immutable options of a file where the values of the known properties
+ * ({@link ConfigPropertyType}) are parsed once.
+ *
+ * <p>
+ * An accessor returns null (or {@link #UNSET} for an int) when the property is
+ * not set or when its value is not valid. The values of the unknown properties
+ * are available with {@link #getOtherOptions()}.
+ * </p>
+ *
+ */
+public final class ResolvedOptions {
+
+	/**
+	 * Value of an int property which is not set.
+	 */
+	public static final int UNSET = -1;
+
+	public static final ResolvedOptions EMPTY = new ResolvedOptions(Collections.<Option>emptyList());
+
+	private final IndentStyleOption indentStyle;
+	private final int indentSize;
+	private final int tabWidth;
+	private final EndOfLineOption endOfLine;
+	private final String charset;
+	private final Boolean trimTrailingWhitespace;
+	private final Boolean insertFinalNewline;
+	private final Map<String, String> otherOptions;
+
+	private ResolvedOptions(Collection<Option> options) {
+		IndentStyleOption indentStyle = null;
+		Option indentSize = null;
+		Integer tabWidth = null;
+		EndOfLineOption endOfLine = null;
+		String charset = null;
+		Boolean trimTrailingWhitespace = null;
+		Boolean insertFinalNewline = null;
+		Map<String, String> otherOptions = null;
+		// values were parsed when the options were loaded
+		for (Option option : options) {
+			ConfigPropertyType<?> type = option.getType();
+			if (type == ConfigPropertyType.INDENT_STYLE) {
+				indentStyle = option.getParsedValue(ConfigPropertyType.INDENT_STYLE);
+			} else if (type == ConfigPropertyType.INDENT_SIZE) {
+				indentSize = option;
+			} else if (type == ConfigPropertyType.TAB_WIDTH) {
+				tabWidth = option.getParsedValue(ConfigPropertyType.TAB_WIDTH);
+			} else if (type == ConfigPropertyType.END_OF_LINE) {
+				endOfLine = option.getParsedValue(ConfigPropertyType.END_OF_LINE);
+			} else if (type == ConfigPropertyType.CHARSET) {
+				charset = option.getParsedValue(ConfigPropertyType.CHARSET);
+			} else if (type == ConfigPropertyType.TRIM_TRAILING_WHITESPACE) {
+				trimTrailingWhitespace = option.getParsedValue(ConfigPropertyType.TRIM_TRAILING_WHITESPACE);
+			} else if (type == ConfigPropertyType.INSERT_FINAL_NEWLINE) {
+				insertFinalNewline = option.getParsedValue(ConfigPropertyType.INSERT_FINAL_NEWLINE);
+			} else if (type == null && option.getValue() != null) {
+				if (otherOptions == null) {
+					otherOptions = new LinkedHashMap<>();
+				}
+				otherOptions.put(option.getName(), option.getValue());
+			}
+		}
+		this.indentStyle = indentStyle;
+		this.tabWidth = tabWidth != null ? tabWidth : UNSET;
+		if (indentSize == null) {
+			this.indentSize = UNSET;
+		} else if (ConfigPropertyType.IndentSize.TAB.equalsIgnoreCase(indentSize.getValue())) {
+			// "tab" means the value of tab_width
+			this.indentSize = this.tabWidth;
+		} else {
+			Integer size = indentSize.getParsedValue(ConfigPropertyType.INDENT_SIZE);
+			this.indentSize = size != null ? size : UNSET;
+		}
+		this.endOfLine = endOfLine;
+		this.charset = charset;
+		this.trimTrailingWhitespace = trimTrailingWhitespace;
+		this.insertFinalNewline = insertFinalNewline;
+		this.otherOptions = otherOptions != null ? Collections.unmodifiableMap(otherOptions)
+				: Collections.<String, String>emptyMap();
+	}
+
+	/**
+	 * Returns the resolved options of the given options, where an option takes
+	 * precedence over the previous options with the same name.
+	 *
+	 * @param options
+	 *            the options of a file.
+	 * @return the resolved options of the given options.
+	 */
+	public static ResolvedOptions of(Collection<Option> options) {
+		return options.isEmpty() ? EMPTY : new ResolvedOptions(options);
+	}
+
+	public IndentStyleOption getIndentStyle() {
+		return indentStyle;
+	}
+
+	/**
+	 * Returns the indent size, which is the tab width when indent_size = tab, and
+	 * {@link #UNSET} if it is not set.
+	 *
+	 * @return the indent size and {@link #UNSET} if it is not set.
+	 */
+	public int getIndentSize() {
+		return indentSize;
+	}
+
+	/**
+	 * Returns the tab width and {@link #UNSET} if it is not set.
+	 *
+	 * @return the tab width and {@link #UNSET} if it is not set.
+	 */
+	public int getTabWidth() {
+		return tabWidth;
+	}
+
+	public EndOfLineOption getEndOfLine() {
+		return endOfLine;
+	}
+
+	public String getCharset() {
+		return charset;
+	}
+
+	public Boolean getTrimTrailingWhitespace() {
+		return trimTrailingWhitespace;
+	}
+
+	public Boolean getInsertFinalNewline() {
+		return insertFinalNewline;
+	}
+
+	/**
+	 * Returns the values of the options which are not known properties by name.
+	 *
+	 * @return the values of the options which are not known properties by name.
+	 */
+	public Map<String, String> getOtherOptions() {
+		return otherOptions;
+	}
+}
@@ -11,10 +11,9 @@
 package org.eclipse.ec4e.services.model;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class Section {
 
@@ -22,8 +21,7 @@ public class Section {
 	private final List<String> patterns;
 	private final List<Option> options;
 
-	private Pattern regex;
-	private List<int[]> ranges;
+	private volatile GlobPattern glob;
 
 	public Section(EditorConfig editorConfig) {
 		this.editorConfig = editorConfig;
@@ -32,7 +30,25 @@ public class Section {
 	}
 
 	public boolean match(File file) {
-		return match(file.toString().replaceAll("[\\\\]", "/"));
+		return match(new FilePath(file));
+	}
+
+	/**
+	 * Returns true if the given path matches the patterns of this section.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @return true if the given path matches the patterns of this section.
+	 */
+	public boolean match(FilePath path) {
+		GlobPattern glob = this.glob;
+		if (glob == null) {
+			// several threads can compile the pattern, but they see a fully
+			// initialized pattern
+			glob = GlobPattern.compile(getGlobPrefix(), getGlob());
+			this.glob = glob;
+		}
+		return glob.matches(path);
 	}
 
 	public void addOption(Option option) {
@@ -92,37 +108,41 @@ public class Section {
 		return s.toString();
 	}
 
-	private boolean match(String filePath) {
-		if (regex == null) {
-			String configDirname = editorConfig.getConfigFile().toString();
-			String pattern = toString(patterns);
-			pattern = pattern.replace(File.separatorChar, '/');
-			pattern = pattern.replaceAll("\\\\#", "#");
-			pattern = pattern.replaceAll("\\\\;", ";");
-			int separator = pattern.indexOf("/");
-			if (separator >= 0) {
-				pattern = configDirname.replace(File.separatorChar, '/')
-						+ (separator == 0 ? pattern.substring(1) : pattern);
-			} else {
-				pattern = "**/" + pattern;
-			}
-			ranges = new ArrayList<int[]>();
-			final String regex = RegexpUtils.convertGlobToRegEx(pattern, ranges);
-			this.regex = Pattern.compile(regex);
+	/**
+	 * Returns the literal prefix of the glob of this section: the directory of the
+	 * .editorconfig file when a pattern contains '/' and empty otherwise.
+	 */
+	String getGlobPrefix() {
+		return getNormalizedPattern().indexOf('/') >= 0 ? getConfigDirname() : "";
+	}
+
+	/**
+	 * Returns the glob of this section which follows {@link #getGlobPrefix()}.
+	 */
+	String getGlob() {
+		String pattern = getNormalizedPattern();
+		int separator = pattern.indexOf('/');
+		if (separator >= 0) {
+			return separator == 0 ? pattern.substring(1) : pattern;
 		}
-		final Matcher matcher = regex.matcher(filePath);
-		if (matcher.matches()) {
-			for (int i = 0; i < matcher.groupCount(); i++) {
-				final int[] range = ranges.get(i);
-				final String numberString = matcher.group(i + 1);
-				if (numberString == null || numberString.startsWith("0"))
-					return false;
-				int number = Integer.parseInt(numberString);
-				if (number < range[0] || number > range[1])
-					return false;
-			}
-			return true;
+		return "**/" + pattern;
+	}
+
+	private String getNormalizedPattern() {
+		String pattern = toString(patterns);
+		pattern = pattern.replace(File.separatorChar, '/');
+		pattern = pattern.replaceAll("\\\\#", "#");
+		pattern = pattern.replaceAll("\\\\;", ";");
+		return pattern;
+	}
+
+	private String getConfigDirname() {
+		Path configPath = editorConfig.getConfigPath();
+		Path configDir = configPath != null ? configPath.toAbsolutePath().getParent() : null;
+		if (configDir == null) {
+			return "";
 		}
-		return false;
+		String configDirname = configDir.toString().replace(configDir.getFileSystem().getSeparator(), "/");
+		return configDirname.endsWith("/") ? configDirname : configDirname + "/";
 	}
 }
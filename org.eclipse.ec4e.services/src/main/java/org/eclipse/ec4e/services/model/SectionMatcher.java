@@ -0,0 +1,300 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches a path with the sections of an {@link EditorConfig}.
+ *
+ * <p>
+ * Most sections only test the name of the file: <code>[*]</code>,
+ * <code>[*.java]</code>, <code>[{*.js,*.ts}]</code>, <code>[Makefile]</code>.
+ * Those sections are indexed by extension and by name, so they are matched with
+ * a few lookups. The other sections are compiled in one {@link GlobPattern}.
+ * </p>
+ *
+ */
+class SectionMatcher {
+
+	// Maximum number of names of an indexed section
+	private static final int MAX_EXPANSIONS = 32;
+
+	// sections which match every path which contains '/'
+	private final BitSet anyName;
+	// sections by file extension (with the '.')
+	private final NameIndex extensions;
+	// sections by file name
+	private final NameIndex names;
+	// sections which are not indexed
+	private final GlobPattern glob;
+
+	SectionMatcher(List<Section> sections) {
+		this.anyName = new BitSet();
+		Map<String, BitSet> extensions = new HashMap<>();
+		Map<String, BitSet> names = new HashMap<>();
+		List<String> prefixes = new ArrayList<>();
+		List<String> globs = new ArrayList<>();
+		int[] ids = new int[sections.size()];
+		for (int i = 0; i < sections.size(); i++) {
+			Section section = sections.get(i);
+			String prefix = section.getGlobPrefix();
+			String glob = section.getGlob();
+			if (!index(prefix, glob, i, extensions, names)) {
+				ids[globs.size()] = i;
+				prefixes.add(prefix);
+				globs.add(glob);
+			}
+		}
+		this.extensions = new NameIndex(extensions);
+		this.names = new NameIndex(names);
+		this.glob = globs.isEmpty() ? null : GlobPattern.compile(prefixes, globs, Arrays.copyOf(ids, globs.size()));
+	}
+
+	/**
+	 * Sets in the given bit set the index of each section which matches the given
+	 * path.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @param matches
+	 *            the bit set to update.
+	 */
+	void match(FilePath path, BitSet matches) {
+		// indexed sections are "**/name", so they need a '/' before the name
+		if (path.hasParent()) {
+			matches.or(anyName);
+			int length = path.length();
+			int nameStart = path.getNameStart();
+			names.collect(path, nameStart, length, matches);
+			if (!extensions.isEmpty()) {
+				for (int i = nameStart; i < length; i++) {
+					if (path.charAt(i) == '.') {
+						extensions.collect(path, i, length, matches);
+					}
+				}
+			}
+		}
+		if (glob != null) {
+			glob.collectMatches(path, matches);
+		}
+	}
+
+	/**
+	 * Indexes the section of the given index if its glob only tests the file name
+	 * and returns true, or returns false otherwise.
+	 */
+	private boolean index(String prefix, String glob, int index, Map<String, BitSet> extensions,
+			Map<String, BitSet> names) {
+		if (!prefix.isEmpty() || !glob.startsWith("**/")) {
+			return false;
+		}
+		List<String> expansions = expand(glob, 3, glob.length());
+		if (expansions == null) {
+			return false;
+		}
+		for (String expansion : expansions) {
+			if (!(expansion.equals("*") || expansion.equals("**") || (expansion.startsWith("*.")
+					&& isLiteral(expansion.substring(1))) || isLiteral(expansion))) {
+				return false;
+			}
+		}
+		for (String expansion : expansions) {
+			if (expansion.equals("*") || expansion.equals("**")) {
+				anyName.set(index);
+			} else if (expansion.startsWith("*")) {
+				add(extensions, expansion.substring(1), index);
+			} else {
+				add(names, expansion, index);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the strings given by the expansion of the braces of the glob between
+	 * the given start (inclusive) and end (exclusive) indexes and null if the glob
+	 * contains something else than braces with literal choices.
+	 */
+	private static List<String> expand(String glob, int start, int end) {
+		List<String> expansions = Collections.singletonList("");
+		int i = start;
+		while (i < end) {
+			char c = glob.charAt(i);
+			switch (c) {
+			case '{':
+				List<Integer> commas = new ArrayList<>();
+				int level = 0;
+				int close = -1;
+				for (int j = i + 1; j < end && close == -1; j++) {
+					switch (glob.charAt(j)) {
+					case '{':
+						level++;
+						break;
+					case '}':
+						if (level == 0) {
+							close = j;
+						}
+						level--;
+						break;
+					case ',':
+						if (level == 0) {
+							commas.add(j);
+						}
+						break;
+					}
+				}
+				if (close == -1 || commas.isEmpty()) {
+					// unclosed braces, {single} or {num1..num2}
+					return null;
+				}
+				commas.add(close);
+				List<String> choices = new ArrayList<>();
+				int from = i + 1;
+				for (int to : commas) {
+					List<String> choice = expand(glob, from, to);
+					if (choice == null) {
+						return null;
+					}
+					choices.addAll(choice);
+					from = to + 1;
+				}
+				if (expansions.size() * choices.size() > MAX_EXPANSIONS) {
+					return null;
+				}
+				List<String> result = new ArrayList<>();
+				for (String expansion : expansions) {
+					for (String choice : choices) {
+						result.add(expansion + choice);
+					}
+				}
+				expansions = result;
+				i = close + 1;
+				break;
+			case '}':
+			case ',':
+			case '\\':
+				return null;
+			default:
+				List<String> appended = new ArrayList<>(expansions.size());
+				for (String expansion : expansions) {
+					appended.add(expansion + c);
+				}
+				expansions = appended;
+				i++;
+			}
+		}
+		return expansions;
+	}
+
+	private static boolean isLiteral(String s) {
+		if (s.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < s.length(); i++) {
+			switch (s.charAt(i)) {
+			case '*':
+			case '?':
+			case '[':
+			case ']':
+			case '{':
+			case '}':
+			case ',':
+			case '\\':
+			case '/':
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void add(Map<String, BitSet> index, String key, int section) {
+		BitSet sections = index.get(key);
+		if (sections == null) {
+			sections = new BitSet();
+			index.put(key, sections);
+		}
+		sections.set(section);
+	}
+
+	/**
+	 * Open addressing hash table of the sections by name which is searched with a
+	 * part of a path without creating a string.
+	 */
+	private static class NameIndex {
+
+		private final String[] keys;
+		private final int[][] sections;
+		private final int size;
+
+		NameIndex(Map<String, BitSet> index) {
+			int capacity = Integer.highestOneBit(Math.max(index.size(), 1) * 2) * 2;
+			this.keys = new String[capacity];
+			this.sections = new int[capacity][];
+			this.size = index.size();
+			for (Map.Entry<String, BitSet> entry : index.entrySet()) {
+				String key = entry.getKey();
+				int slot = hash(key, 0, key.length()) & (capacity - 1);
+				while (keys[slot] != null) {
+					slot = (slot + 1) & (capacity - 1);
+				}
+				keys[slot] = key;
+				sections[slot] = entry.getValue().stream().toArray();
+			}
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		/**
+		 * Sets in the given bit set the sections of the name between the given start
+		 * (inclusive) and end (exclusive) indexes of the given path.
+		 */
+		void collect(CharSequence path, int start, int end, BitSet matches) {
+			int mask = keys.length - 1;
+			for (int slot = hash(path, start, end) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+				if (regionMatches(keys[slot], path, start, end)) {
+					for (int section : sections[slot]) {
+						matches.set(section);
+					}
+					return;
+				}
+			}
+		}
+
+		private static int hash(CharSequence s, int start, int end) {
+			int hash = 0;
+			for (int i = start; i < end; i++) {
+				hash = 31 * hash + s.charAt(i);
+			}
+			return hash ^ (hash >>> 16);
+		}
+
+		private static boolean regionMatches(String key, CharSequence path, int start, int end) {
+			if (key.length() != end - start) {
+				return false;
+			}
+			for (int i = 0; i < key.length(); i++) {
+				if (key.charAt(i) != path.charAt(start + i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
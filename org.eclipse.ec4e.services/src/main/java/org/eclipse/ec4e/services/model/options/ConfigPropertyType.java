@@ -27,6 +27,8 @@ public abstract class ConfigPropertyType<T> implements Comparable<ConfigProperty
 	public static class IndentStyle extends ConfigPropertyType<IndentStyleOption> {
 
 		private static final String[] POSSIBLE_VALUES = new String[] { "tab", "space" };
+		private static final ValueParser<IndentStyleOption> VALUE_PARSER = new EnumValueParser<IndentStyleOption>(
+				IndentStyleOption.class);
 
 		@Override
 		public String getName() {
@@ -40,7 +42,7 @@ public abstract class ConfigPropertyType<T> implements Comparable<ConfigProperty
 
 		@Override
 		public ValueParser<IndentStyleOption> getValueParser() {
-			return new EnumValueParser<IndentStyleOption>(IndentStyleOption.class);
+			return VALUE_PARSER;
 		}
 
 		@Override
@@ -57,6 +59,11 @@ public abstract class ConfigPropertyType<T> implements Comparable<ConfigProperty
 
 	public static class IndentSize extends ConfigPropertyType<Integer> {
 
+		/**
+		 * Value which means the value of tab_width.
+		 */
+		public static final String TAB = "tab";
+
 		private static final String[] POSSIBLE_VALUES = new String[] { "1", "2", "3", "4", "5", "6", "7", "8", "tab" };
 
 		@Override
@@ -79,6 +86,11 @@ public abstract class ConfigPropertyType<T> implements Comparable<ConfigProperty
 			return ValueValidator.POSITIVE_INT_VALUE_VALIDATOR;
 		}
 
+		@Override
+		public boolean isValid(String value) {
+			return TAB.equalsIgnoreCase(value) || super.isValid(value);
+		}
+
 		@Override
 		public String[] getPossibleValues() {
 			return POSSIBLE_VALUES;
@@ -119,6 +131,8 @@ public abstract class ConfigPropertyType<T> implements Comparable<ConfigProperty
 	public static class EndOfLine extends ConfigPropertyType<EndOfLineOption> {
 
 		private static final String[] POSSIBLE_VALUES = new String[] { "lf", "crlf", "cr" };
+		private static final ValueParser<EndOfLineOption> VALUE_PARSER = new EnumValueParser<EndOfLineOption>(
+				EndOfLineOption.class);
 
 		@Override
 		public String getName() {
@@ -132,7 +146,7 @@ public abstract class ConfigPropertyType<T> implements Comparable<ConfigProperty
 
 		@Override
 		public ValueParser<EndOfLineOption> getValueParser() {
-			return new EnumValueParser<EndOfLineOption>(EndOfLineOption.class);
+			return VALUE_PARSER;
 		}
 
 		@Override
@@ -303,6 +317,29 @@ public abstract class ConfigPropertyType<T> implements Comparable<ConfigProperty
 		getValueValidator().validate(getName(), value);
 	}
 
+	/**
+	 * Returns the given value parsed by the value parser of this type and null if
+	 * the value is not valid.
+	 *
+	 * @param value
+	 *            the value to parse.
+	 * @return the parsed value and null if the value is not valid.
+	 */
+	public T parse(String value) {
+		return getValueParser().parse(value);
+	}
+
+	/**
+	 * Returns true if the given value is valid for this type.
+	 *
+	 * @param value
+	 *            the value.
+	 * @return true if the given value is valid for this type.
+	 */
+	public boolean isValid(String value) {
+		return parse(value) != null;
+	}
+
 	public abstract String[] getPossibleValues();
 
 	private Integer getIndex() {
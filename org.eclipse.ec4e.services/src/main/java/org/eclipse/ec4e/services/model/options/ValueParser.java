@@ -29,7 +29,8 @@ interface ValueParser<T> {
 	public static ValueParser<Boolean> BOOLEAN_VALUE_PARSER = new ValueParser<Boolean>() {
 		@Override
 		public Boolean parse(final String value) {
-			return Boolean.valueOf(value.toLowerCase());
+			String lowerValue = value.toLowerCase();
+			return "true".equals(lowerValue) ? Boolean.TRUE : "false".equals(lowerValue) ? Boolean.FALSE : null;
 		}
 	};
 
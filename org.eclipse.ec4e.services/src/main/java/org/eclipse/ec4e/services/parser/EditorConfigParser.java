@@ -12,17 +12,22 @@ package org.eclipse.ec4e.services.parser;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 
 import org.eclipse.ec4e.services.parser.handlers.IEditorConfigHandler;
 
 public class EditorConfigParser<Section, Option> {
 
-	private static final int MIN_BUFFER_SIZE = 10;
 	private static final int DEFAULT_BUFFER_SIZE = 1024;
+	// a larger capture buffer is not kept after a parse
+	private static final int MAX_KEPT_CAPTURE_SIZE = 8 * 1024;
 
-	private final IEditorConfigHandler<Section, Option> handler;
+	private static final ThreadLocal<EditorConfigParser<?, ?>> THREAD_PARSER = new ThreadLocal<>();
+
+	private IEditorConfigHandler<Section, Option> handler;
 	private Reader reader;
+	// the whole input when it is parsed in place, null when it is read from a
+	// reader in the buffer
+	private CharSequence input;
 	private char[] buffer;
 	private int bufferOffset;
 	private int index;
@@ -35,14 +40,62 @@ public class EditorConfigParser<Section, Option> {
 
 	private boolean tolerant;
 	private Section currentSection;
+	private StringPool stringPool;
+	private boolean parsing;
+	// true for the parser of a thread, which doesn't keep its handler after a
+	// parse
+	private boolean threadParser;
 
 	public EditorConfigParser(IEditorConfigHandler<Section, Option> handler) {
+		reset(handler);
+	}
+
+	/**
+	 * Returns the parser of the current thread, reset with the given handler, for
+	 * one parse. The buffers of this parser are kept between the parses, so
+	 * parsing many inputs in a thread doesn't allocate them again. A new parser is
+	 * returned when the parser of the current thread is parsing (when a handler
+	 * parses another input).
+	 *
+	 * @param handler
+	 *            the handler.
+	 * @return the parser of the current thread, reset with the given handler.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <Section, Option> EditorConfigParser<Section, Option> getThreadParser(
+			IEditorConfigHandler<Section, Option> handler) {
+		EditorConfigParser<Section, Option> parser = (EditorConfigParser<Section, Option>) THREAD_PARSER.get();
+		if (parser == null) {
+			parser = new EditorConfigParser<>(handler);
+			parser.threadParser = true;
+			THREAD_PARSER.set(parser);
+			return parser;
+		}
+		if (parser.parsing) {
+			return new EditorConfigParser<>(handler);
+		}
+		parser.reset(handler);
+		return parser;
+	}
+
+	/**
+	 * Resets this parser with the given handler and the default settings, keeping
+	 * its buffers.
+	 *
+	 * @param handler
+	 *            the handler.
+	 */
+	public void reset(IEditorConfigHandler<Section, Option> handler) {
 		if (handler == null) {
 			throw new NullPointerException("handler is null");
 		}
+		if (parsing) {
+			throw new IllegalStateException("parser is parsing");
+		}
 		this.handler = handler;
 		handler.setParser(this);
 		setTolerant(false);
+		setStringPool(StringPool.KNOWN_NAMES_AND_VALUES);
 	}
 
 	public void setTolerant(boolean tolerant) {
@@ -53,6 +106,22 @@ public class EditorConfigParser<Section, Option> {
 		return tolerant;
 	}
 
+	/**
+	 * Set the pool of the canonical strings which are used for the names and the
+	 * values of the options instead of new strings, or null to always create new
+	 * strings.
+	 *
+	 * @param stringPool
+	 *            the pool of canonical strings, or null.
+	 */
+	public void setStringPool(StringPool stringPool) {
+		this.stringPool = stringPool;
+	}
+
+	public StringPool getStringPool() {
+		return stringPool;
+	}
+
 	/**
 	 * Parses the given input string. The input must contain a valid .editorconfig
 	 * value, optionally padded with whitespace.
@@ -63,14 +132,31 @@ public class EditorConfigParser<Section, Option> {
 	 *             if the input is not valid .editorconfig
 	 */
 	public void parse(String string) {
-		if (string == null) {
-			throw new NullPointerException("string is null");
+		parse((CharSequence) string);
+	}
+
+	/**
+	 * Parses the given input in place: chars are read by index from the given
+	 * input (a {@link String}, a {@link java.nio.CharBuffer}, a document, etc)
+	 * without being copied to a buffer. The input must contain a valid
+	 * .editorconfig value, optionally padded with whitespace.
+	 *
+	 * @param input
+	 *            the input, must be valid .editorconfig
+	 * @throws ParseException
+	 *             if the input is not valid .editorconfig
+	 */
+	public void parse(CharSequence input) {
+		if (input == null) {
+			throw new NullPointerException("input is null");
 		}
-		int bufferSize = Math.max(MIN_BUFFER_SIZE, Math.min(DEFAULT_BUFFER_SIZE, string.length()));
+		this.reader = null;
+		this.input = input;
+		fill = input.length();
 		try {
-			parse(new StringReader(string), bufferSize);
+			parse();
 		} catch (IOException exception) {
-			// StringReader does not throw IOException
+			// the input is not read with a reader
 			throw new RuntimeException(exception);
 		}
 	}
@@ -122,17 +208,49 @@ public class EditorConfigParser<Section, Option> {
 			throw new IllegalArgumentException("buffersize is zero or negative");
 		}
 		this.reader = reader;
-		buffer = new char[buffersize];
-		bufferOffset = 0;
-		index = 0;
+		this.input = null;
+		if (buffer == null || buffer.length != buffersize) {
+			buffer = new char[buffersize];
+		}
 		fill = 0;
-		line = 1;
-		lineOffset = 0;
-		current = 0;
-		captureStart = -1;
-		readLines();
-		if (!isEndOfText()) {
-			throw error("Unexpected character");
+		parse();
+	}
+
+	private void parse() throws IOException {
+		if (parsing) {
+			throw new IllegalStateException("parser is parsing");
+		}
+		if (handler == null) {
+			throw new IllegalStateException("parser is not reset with a handler");
+		}
+		parsing = true;
+		try {
+			bufferOffset = 0;
+			index = 0;
+			line = 1;
+			lineOffset = 0;
+			current = 0;
+			captureStart = -1;
+			currentSection = null;
+			if (captureBuffer != null) {
+				captureBuffer.setLength(0);
+			}
+			readLines();
+			if (!isEndOfText()) {
+				throw error("Unexpected character");
+			}
+		} finally {
+			parsing = false;
+			// don't retain the input
+			reader = null;
+			input = null;
+			currentSection = null;
+			if (threadParser) {
+				handler = null;
+			}
+			if (captureBuffer != null && captureBuffer.capacity() > MAX_KEPT_CAPTURE_SIZE) {
+				captureBuffer = null;
+			}
 		}
 	}
 
@@ -178,9 +296,11 @@ public class EditorConfigParser<Section, Option> {
 	}
 
 	private void readComment() throws IOException {
+		handler.startComment();
 		do {
 			read();
 		} while (!isEndOfText() && !isNewLine());
+		handler.endComment();
 	}
 
 	private Section readSection() throws IOException {
@@ -254,7 +374,7 @@ public class EditorConfigParser<Section, Option> {
 				read();
 			}
 		}
-		String string = endCapture();
+		String string = endCapture(stop == StopReading.OptionName || stop == StopReading.OptionValue);
 		// read();
 		return string;
 	}
@@ -352,7 +472,14 @@ public class EditorConfigParser<Section, Option> {
 	}
 
 	private void read() throws IOException {
-		if (index == fill) {
+		if (input != null) {
+			if (index >= fill) {
+				// end of the input
+				current = -1;
+				index = fill + 1;
+				return;
+			}
+		} else if (index == fill) {
 			if (captureStart != -1) {
 				captureBuffer.append(buffer, captureStart, fill - captureStart);
 				captureStart = 0;
@@ -370,7 +497,7 @@ public class EditorConfigParser<Section, Option> {
 			line++;
 			lineOffset = bufferOffset + index;
 		}
-		current = buffer[index++];
+		current = input != null ? input.charAt(index++) : buffer[index++];
 	}
 
 	private void startCapture() {
@@ -382,21 +509,35 @@ public class EditorConfigParser<Section, Option> {
 
 	private void pauseCapture() {
 		int end = isEndOfText() ? index : index - 1;
-		captureBuffer.append(buffer, captureStart, end - captureStart);
+		appendCapture(captureStart, end);
 		captureStart = -1;
 	}
 
-	private String endCapture() {
+	private String endCapture(boolean canonical) {
 		int start = captureStart;
 		int end = index - 1;
 		captureStart = -1;
 		if (captureBuffer.length() > 0) {
-			captureBuffer.append(buffer, start, end - start);
+			appendCapture(start, end);
 			String captured = captureBuffer.toString();
 			captureBuffer.setLength(0);
-			return captured;
+			return canonical && stringPool != null ? stringPool.intern(captured) : captured;
+		}
+		if (canonical && stringPool != null) {
+			String captured = input != null ? stringPool.get(input, start, end) : stringPool.get(buffer, start, end);
+			if (captured != null) {
+				return captured;
+			}
+		}
+		return input != null ? input.subSequence(start, end).toString() : new String(buffer, start, end - start);
+	}
+
+	private void appendCapture(int start, int end) {
+		if (input != null) {
+			captureBuffer.append(input, start, end);
+		} else {
+			captureBuffer.append(buffer, start, end - start);
 		}
-		return new String(buffer, start, end - start);
 	}
 
 	public Location getLocation() {
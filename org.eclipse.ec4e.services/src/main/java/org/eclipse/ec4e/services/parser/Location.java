@@ -63,4 +63,18 @@ public class Location {
 	public Location adjust(int increment) {
 		return new Location(this.offset + increment, this.line, this.column + increment);
 	}
+
+	/**
+	 * Returns this location moved by the given number of characters and lines,
+	 * the column is kept.
+	 *
+	 * @param offsetIncrement
+	 *            the number of characters to add to the offset.
+	 * @param lineIncrement
+	 *            the number of lines to add to the line.
+	 * @return the moved location.
+	 */
+	public Location translate(int offsetIncrement, int lineIncrement) {
+		return new Location(this.offset + offsetIncrement, this.line + lineIncrement, this.column);
+	}
 }
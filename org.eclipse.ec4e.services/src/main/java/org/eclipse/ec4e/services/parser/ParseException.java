@@ -17,6 +17,7 @@ package org.eclipse.ec4e.services.parser;
 @SuppressWarnings("serial") // use default serial UID
 public class ParseException extends RuntimeException {
 
+	private final String reason;
 	private final Location location;
 	private final ErrorType errorType;
 
@@ -26,10 +27,20 @@ public class ParseException extends RuntimeException {
 
 	ParseException(String message, Location location, ErrorType errorType) {
 		super(message + " at " + location);
+		this.reason = message;
 		this.location = location;
 		this.errorType = errorType;
 	}
 
+	/**
+	 * Returns the message of the error without its location.
+	 *
+	 * @return the message of the error without its location
+	 */
+	public String getReason() {
+		return reason;
+	}
+
 	/**
 	 * Returns the location at which the error occurred.
 	 *
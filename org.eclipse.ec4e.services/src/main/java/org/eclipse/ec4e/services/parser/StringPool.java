@@ -0,0 +1,163 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.parser;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.ec4e.services.model.options.ConfigPropertyType;
+
+/**
+ * Immutable table of canonical strings which is searched with a part of a char
+ * array without creating a string.
+ *
+ * <p>
+ * The parser uses {@link #KNOWN_NAMES_AND_VALUES} for the names and the values
+ * of the options, so the options of all the loaded .editorconfig files share
+ * the same instances of "indent_style", "space", "true", etc.
+ * </p>
+ *
+ */
+public final class StringPool {
+
+	/**
+	 * The names and the possible values of the known properties.
+	 */
+	public static final StringPool KNOWN_NAMES_AND_VALUES = new StringPool(getKnownNamesAndValues());
+
+	private final String[] strings;
+
+	public StringPool(Collection<String> strings) {
+		int capacity = Integer.highestOneBit(Math.max(strings.size(), 1) * 2) * 2;
+		this.strings = new String[capacity];
+		for (String string : strings) {
+			int slot = hash(string) & (capacity - 1);
+			while (this.strings[slot] != null && !this.strings[slot].equals(string)) {
+				slot = (slot + 1) & (capacity - 1);
+			}
+			this.strings[slot] = string;
+		}
+	}
+
+	/**
+	 * Returns the canonical string of the chars between the given start
+	 * (inclusive) and end (exclusive) indexes and null if there is none.
+	 *
+	 * @param chars
+	 *            the chars.
+	 * @param start
+	 *            the start index.
+	 * @param end
+	 *            the end index.
+	 * @return the canonical string and null if there is none.
+	 */
+	public String get(char[] chars, int start, int end) {
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		int mask = strings.length - 1;
+		for (int slot = spread(hash) & mask; strings[slot] != null; slot = (slot + 1) & mask) {
+			if (regionMatches(strings[slot], chars, start, end)) {
+				return strings[slot];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the canonical string of the chars between the given start
+	 * (inclusive) and end (exclusive) indexes and null if there is none.
+	 *
+	 * @param chars
+	 *            the chars.
+	 * @param start
+	 *            the start index.
+	 * @param end
+	 *            the end index.
+	 * @return the canonical string and null if there is none.
+	 */
+	public String get(CharSequence chars, int start, int end) {
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + chars.charAt(i);
+		}
+		int mask = strings.length - 1;
+		for (int slot = spread(hash) & mask; strings[slot] != null; slot = (slot + 1) & mask) {
+			if (regionMatches(strings[slot], chars, start, end)) {
+				return strings[slot];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the canonical string equal to the given string, or the given string
+	 * if there is none.
+	 *
+	 * @param string
+	 *            the string.
+	 * @return the canonical string equal to the given string, or the given string.
+	 */
+	public String intern(String string) {
+		int mask = strings.length - 1;
+		for (int slot = hash(string) & mask; strings[slot] != null; slot = (slot + 1) & mask) {
+			if (strings[slot].equals(string)) {
+				return strings[slot];
+			}
+		}
+		return string;
+	}
+
+	private static int hash(String string) {
+		return spread(string.hashCode());
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean regionMatches(String string, char[] chars, int start, int end) {
+		if (string.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < string.length(); i++) {
+			if (string.charAt(i) != chars[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean regionMatches(String string, CharSequence chars, int start, int end) {
+		if (string.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < string.length(); i++) {
+			if (string.charAt(i) != chars.charAt(start + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Set<String> getKnownNamesAndValues() {
+		Set<String> strings = new LinkedHashSet<>();
+		for (ConfigPropertyType<?> type : ConfigPropertyType.ALL_TYPES) {
+			strings.add(type.getName());
+			for (String value : type.getPossibleValues()) {
+				strings.add(value);
+			}
+		}
+		return strings;
+	}
+}
@@ -0,0 +1,345 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.parser;
+
+import java.util.Arrays;
+
+import org.eclipse.ec4e.services.parser.handlers.EditorConfigHandlerAdapter;
+
+/**
+ * Immutable syntax tree of an .editorconfig content with the offsets of its
+ * nodes, which can be shared by the services (completion, hover, etc) while the
+ * content doesn't change.
+ *
+ * <p>
+ * A node is an index. The nodes are stored in arrays in the order of their
+ * start offset, a parent before its children, so the node at an offset is
+ * searched with a binary search. The roots are the sections, the options and
+ * the comments, which end at the end of their line. A comment which follows a
+ * section or an option on the same line is a child of this root.
+ * </p>
+ *
+ */
+public final class SyntaxTree {
+
+	/**
+	 * The kind of a node.
+	 */
+	public enum NodeKind {
+		SECTION, PATTERN, OPTION, OPTION_NAME, ASSIGNMENT, OPTION_VALUE, COMMENT
+	}
+
+	/**
+	 * The parent of a root and the node at an offset without node.
+	 */
+	public static final int NO_NODE = -1;
+
+	private static final NodeKind[] KINDS = NodeKind.values();
+
+	private final byte[] kinds;
+	private final int[] starts;
+	private final int[] ends;
+	private final int[] parents;
+	private final String[] texts;
+	private final int count;
+
+	private SyntaxTree(byte[] kinds, int[] starts, int[] ends, int[] parents, String[] texts, int count) {
+		this.kinds = Arrays.copyOf(kinds, count);
+		this.starts = Arrays.copyOf(starts, count);
+		this.ends = Arrays.copyOf(ends, count);
+		this.parents = Arrays.copyOf(parents, count);
+		this.texts = Arrays.copyOf(texts, count);
+		this.count = count;
+	}
+
+	/**
+	 * Parses the given content in place, tolerating errors, and returns its
+	 * syntax tree.
+	 *
+	 * @param content
+	 *            the content of the .editorconfig.
+	 * @return the syntax tree of the given content.
+	 */
+	public static SyntaxTree parse(CharSequence content) {
+		Builder builder = new Builder(content);
+		EditorConfigParser<Object, Object> parser = EditorConfigParser.getThreadParser(builder);
+		parser.setTolerant(true);
+		parser.parse(content);
+		return builder.build();
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 *
+	 * @return the number of nodes.
+	 */
+	public int getNodeCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the innermost node which contains the given offset, the end of a
+	 * node being included so that a caret at the end of a token is in it, or
+	 * {@link #NO_NODE} when the offset is in a blank line or before the first
+	 * token of a line.
+	 *
+	 * @param offset
+	 *            the offset.
+	 * @return the innermost node which contains the given offset or
+	 *         {@link #NO_NODE}.
+	 */
+	public int getNodeAt(int offset) {
+		// the last node which starts before the offset, the node at the offset is
+		// this node or one of its parents.
+		int node = NO_NODE;
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (starts[middle] <= offset) {
+				node = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		while (node != NO_NODE && ends[node] < offset) {
+			node = parents[node];
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the first child of the given node with the given kind or
+	 * {@link #NO_NODE}.
+	 *
+	 * @param node
+	 *            the node.
+	 * @param kind
+	 *            the kind of the child.
+	 * @return the first child of the given node with the given kind or
+	 *         {@link #NO_NODE}.
+	 */
+	public int getChild(int node, NodeKind kind) {
+		for (int i = node + 1; i < count && starts[i] <= ends[node]; i++) {
+			if (parents[i] == node && kinds[i] == kind.ordinal()) {
+				return i;
+			}
+		}
+		return NO_NODE;
+	}
+
+	/**
+	 * Returns the kind of the given node.
+	 *
+	 * @param node
+	 *            the node.
+	 * @return the kind of the given node.
+	 */
+	public NodeKind getKind(int node) {
+		return KINDS[kinds[node]];
+	}
+
+	/**
+	 * Returns the start offset of the given node.
+	 *
+	 * @param node
+	 *            the node.
+	 * @return the start offset of the given node.
+	 */
+	public int getStart(int node) {
+		return starts[node];
+	}
+
+	/**
+	 * Returns the end offset (exclusive) of the given node.
+	 *
+	 * @param node
+	 *            the node.
+	 * @return the end offset (exclusive) of the given node.
+	 */
+	public int getEnd(int node) {
+		return ends[node];
+	}
+
+	/**
+	 * Returns the parent of the given node or {@link #NO_NODE} for a root.
+	 *
+	 * @param node
+	 *            the node.
+	 * @return the parent of the given node or {@link #NO_NODE}.
+	 */
+	public int getParent(int node) {
+		return parents[node];
+	}
+
+	/**
+	 * Returns the unescaped text of a pattern, an option name or an option value
+	 * and null for the other nodes. The text of an option name or value which is
+	 * not ended because of an error is empty.
+	 *
+	 * @param node
+	 *            the node.
+	 * @return the text of the given node or null.
+	 */
+	public String getText(int node) {
+		return texts[node];
+	}
+
+	/**
+	 * Handler which builds the nodes from the events of the parser.
+	 */
+	private static class Builder extends EditorConfigHandlerAdapter<Object, Object> {
+
+		private final CharSequence content;
+		private byte[] kinds = new byte[16];
+		private int[] starts = new int[16];
+		private int[] ends = new int[16];
+		private int[] parents = new int[16];
+		private String[] texts = new String[16];
+		private int count;
+		// the nodes which are not ended, a root and at most one child
+		private final int[] opened = new int[2];
+		private int depth;
+
+		Builder(CharSequence content) {
+			this.content = content;
+		}
+
+		@Override
+		public Object startSection() {
+			start(NodeKind.SECTION);
+			return null;
+		}
+
+		@Override
+		public void endSection(Object section) {
+			end(getLocation().offset, null);
+		}
+
+		@Override
+		public void startPattern(Object section, int i) {
+			start(NodeKind.PATTERN);
+		}
+
+		@Override
+		public void endPattern(Object section, String pattern, int i) {
+			end(getLocation().offset, pattern);
+		}
+
+		@Override
+		public Object startOption() {
+			start(NodeKind.OPTION);
+			return null;
+		}
+
+		@Override
+		public void endOption(Object option, Object section) {
+			end(getLocation().offset, null);
+		}
+
+		@Override
+		public void startOptionName(Object option) {
+			start(NodeKind.OPTION_NAME);
+		}
+
+		@Override
+		public void endOptionName(Object option, String name) {
+			end(getLocation().offset, name);
+		}
+
+		@Override
+		public void startOptionValue(Object option, String name) {
+			// the '=' is before the spaces which precede the value
+			int offset = getLocation().offset - 1;
+			while (offset > 0 && (content.charAt(offset) == ' ' || content.charAt(offset) == '\t')) {
+				offset--;
+			}
+			add(NodeKind.ASSIGNMENT, offset, offset + 1, opened[depth - 1]);
+			start(NodeKind.OPTION_VALUE);
+		}
+
+		@Override
+		public void endOptionValue(Object option, String value, String name) {
+			end(getLocation().offset, value);
+		}
+
+		@Override
+		public void startComment() {
+			start(NodeKind.COMMENT);
+		}
+
+		@Override
+		public void endComment() {
+			end(getLocation().offset, null);
+		}
+
+		@Override
+		public void error(ParseException e) {
+			// the parser goes to the next line, end the nodes of the line
+			while (depth > 0) {
+				byte kind = kinds[opened[depth - 1]];
+				boolean text = kind == NodeKind.OPTION_NAME.ordinal() || kind == NodeKind.OPTION_VALUE.ordinal();
+				end(e.getLocation().offset, text ? "" : null);
+			}
+		}
+
+		private void start(NodeKind kind) {
+			int start = getLocation().offset;
+			opened[depth] = add(kind, start, start, depth > 0 ? opened[depth - 1] : NO_NODE);
+			depth++;
+		}
+
+		private int add(NodeKind kind, int start, int end, int parent) {
+			if (count == starts.length) {
+				int capacity = count * 2;
+				kinds = Arrays.copyOf(kinds, capacity);
+				starts = Arrays.copyOf(starts, capacity);
+				ends = Arrays.copyOf(ends, capacity);
+				parents = Arrays.copyOf(parents, capacity);
+				texts = Arrays.copyOf(texts, capacity);
+			}
+			int node = count++;
+			kinds[node] = (byte) kind.ordinal();
+			starts[node] = start;
+			ends[node] = end;
+			parents[node] = parent;
+			return node;
+		}
+
+		private void end(int offset, String text) {
+			int node = opened[--depth];
+			int end = Math.min(Math.max(offset, starts[node]), content.length());
+			ends[node] = end;
+			texts[node] = text;
+			if (depth == 0) {
+				// a root ends at the end of its line, the rest of the line can be a
+				// comment
+				int comment = -1;
+				while (end < content.length() && content.charAt(end) != '\n' && content.charAt(end) != '\r') {
+					if (comment == -1 && kinds[node] != NodeKind.COMMENT.ordinal()
+							&& (content.charAt(end) == '#' || content.charAt(end) == ';')) {
+						comment = end;
+					}
+					end++;
+				}
+				ends[node] = end;
+				if (comment != -1) {
+					add(NodeKind.COMMENT, comment, end, node);
+				}
+			}
+		}
+
+		SyntaxTree build() {
+			return new SyntaxTree(kinds, starts, ends, parents, texts, count);
+		}
+	}
+}
@@ -41,6 +41,12 @@ public interface IEditorConfigHandler<Section, Option> {
 
 	public void endOptionValue(Option option, String value, String name);
 
+	public default void startComment() {
+	}
+
+	public default void endComment() {
+	}
+
 	public void error(ParseException e);
 
 }
\ No newline at end of file
@@ -76,6 +76,16 @@ public class LoggerEditorConfigHandler<Section, Option> extends AbstractEditorCo
 		System.err.println("End option value of '" + name + "', value=" + value + " at " + getLocation());
 	}
 
+	@Override
+	public void startComment() {
+		System.err.println("Start comment at " + getLocation());
+	}
+
+	@Override
+	public void endComment() {
+		System.err.println("End comment at " + getLocation());
+	}
+
 	@Override
 	public void error(ParseException e) {
 		e.printStackTrace();
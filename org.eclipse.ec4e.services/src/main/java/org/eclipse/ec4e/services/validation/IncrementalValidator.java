@@ -0,0 +1,337 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ec4e.services.EditorConfigService;
+import org.eclipse.ec4e.services.parser.EditorConfigParser;
+import org.eclipse.ec4e.services.parser.ErrorType;
+import org.eclipse.ec4e.services.parser.Location;
+import org.eclipse.ec4e.services.parser.ParseException;
+
+/**
+ * Validator of an edited .editorconfig document which keeps a table of the
+ * lines of the document and re-parses only the lines touched by a change.
+ *
+ * <p>
+ * .editorconfig is line oriented: each line is a section header, an option, a
+ * comment or blank, and the errors of a line don't depend on the other lines.
+ * So the errors of the table are the same as the errors reported by
+ * {@link EditorConfigService#validate(CharSequence, IReporter, ISeverityProvider)}
+ * for the whole document.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ */
+public class IncrementalValidator {
+
+	/**
+	 * The kind of a line.
+	 */
+	public enum LineKind {
+		BLANK, COMMENT, SECTION, OPTION
+	}
+
+	private static class Line {
+
+		private int start;
+		private LineKind kind = LineKind.BLANK;
+		/**
+		 * The errors of the line, with locations relative to the start of the line
+		 * and to the line 1.
+		 */
+		private List<LineError> errors;
+
+		Line(int start) {
+			this.start = start;
+		}
+	}
+
+	private static class LineError {
+
+		/**
+		 * The message, without the location for a parse error, as the location is
+		 * relative to the re-parsed lines.
+		 */
+		private final String message;
+		private final boolean located;
+		private final Location start;
+		private final Location end;
+		private final ErrorType type;
+		private final Severity severity;
+
+		LineError(String message, boolean located, Location start, Location end, ErrorType type,
+				Severity severity) {
+			this.message = message;
+			this.located = located;
+			this.start = start;
+			this.end = end;
+			this.type = type;
+			this.severity = severity;
+		}
+	}
+
+	private final ISeverityProvider provider;
+	private final List<Line> lines = new ArrayList<>();
+	private int length;
+	// the lines parsed by the last validate or update
+	private int changedStart;
+	private int changedEnd;
+
+	public IncrementalValidator() {
+		this(null);
+	}
+
+	public IncrementalValidator(ISeverityProvider provider) {
+		this.provider = provider;
+	}
+
+	/**
+	 * Parses the whole given content and reports all its errors.
+	 *
+	 * @param content
+	 *            the content of the .editorconfig.
+	 * @param reporter
+	 *            used to report errors.
+	 */
+	public void validate(CharSequence content, IReporter reporter) {
+		lines.clear();
+		lines.addAll(parse(content, 0, content.length(), true));
+		length = content.length();
+		changedStart = 0;
+		changedEnd = length;
+		report(0, lines.size(), reporter);
+	}
+
+	/**
+	 * Updates the table after a change of the content and reports the errors of
+	 * the re-parsed lines. When the change doesn't match the table, for instance
+	 * when the table is empty, the whole content is validated.
+	 *
+	 * @param content
+	 *            the content of the .editorconfig after the change.
+	 * @param offset
+	 *            the offset of the change.
+	 * @param removedLength
+	 *            the number of removed characters.
+	 * @param insertedLength
+	 *            the number of inserted characters.
+	 * @param reporter
+	 *            used to report errors.
+	 */
+	public void update(CharSequence content, int offset, int removedLength, int insertedLength, IReporter reporter) {
+		int delta = insertedLength - removedLength;
+		if (lines.isEmpty() || offset < 0 || removedLength < 0 || offset + removedLength > length
+				|| content.length() != length + delta) {
+			validate(content, reporter);
+			return;
+		}
+		// A removed '\n' joins its line with the next one, so the line of the
+		// removed end is parsed too.
+		int first = getLineIndex(offset);
+		int last = getLineIndex(offset + removedLength);
+		boolean lastLine = last == lines.size() - 1;
+		int start = lines.get(first).start;
+		int end = lastLine ? content.length() : lines.get(last + 1).start + delta;
+		List<Line> parsed = parse(content, start, end, lastLine);
+		lines.subList(first, last + 1).clear();
+		lines.addAll(first, parsed);
+		for (int i = first + parsed.size(); i < lines.size(); i++) {
+			lines.get(i).start += delta;
+		}
+		length = content.length();
+		changedStart = start;
+		changedEnd = end;
+		report(first, first + parsed.size(), reporter);
+	}
+
+	/**
+	 * Reports the errors of all the lines without parsing.
+	 *
+	 * @param reporter
+	 *            used to report errors.
+	 */
+	public void report(IReporter reporter) {
+		report(0, lines.size(), reporter);
+	}
+
+	/**
+	 * Returns the start offset of the lines parsed by the last validation or
+	 * update, the errors reported by it are the errors of these lines.
+	 *
+	 * @return the start offset of the lines parsed by the last validation or
+	 *         update.
+	 */
+	public int getChangedStart() {
+		return changedStart;
+	}
+
+	/**
+	 * Returns the end offset of the lines parsed by the last validation or update:
+	 * the start offset of the next line or the length of the content.
+	 *
+	 * @return the end offset of the lines parsed by the last validation or update.
+	 */
+	public int getChangedEnd() {
+		return changedEnd;
+	}
+
+	/**
+	 * Returns the number of lines.
+	 *
+	 * @return the number of lines.
+	 */
+	public int getLineCount() {
+		return lines.size();
+	}
+
+	/**
+	 * Returns the start offset of the given line.
+	 *
+	 * @param line
+	 *            the line index, starting at 0.
+	 * @return the start offset of the given line.
+	 */
+	public int getLineOffset(int line) {
+		return lines.get(line).start;
+	}
+
+	/**
+	 * Returns the kind of the given line.
+	 *
+	 * @param line
+	 *            the line index, starting at 0.
+	 * @return the kind of the given line.
+	 */
+	public LineKind getLineKind(int line) {
+		return lines.get(line).kind;
+	}
+
+	/**
+	 * Returns the index of the line which contains the given offset.
+	 *
+	 * @param offset
+	 *            the offset.
+	 * @return the index of the line which contains the given offset.
+	 */
+	public int getLineIndex(int offset) {
+		int low = 0;
+		int high = lines.size() - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (lines.get(middle).start <= offset) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Parses the lines between the given start offset, which is the start of a
+	 * line, and the given end offset, which is the start of the next line or the
+	 * end of the content.
+	 */
+	private List<Line> parse(CharSequence content, int start, int end, boolean lastLine) {
+		List<Line> parsed = new ArrayList<>();
+		parsed.add(new Line(start));
+		for (int i = start; i < end; i++) {
+			if (content.charAt(i) == '\n' && (i + 1 < end || lastLine)) {
+				parsed.add(new Line(i + 1));
+			}
+		}
+		IReporter recorder = (message, errorStart, errorEnd, type, severity) -> addError(parsed, start, message,
+				false, errorStart, errorEnd, type, severity);
+		ValidationEditorConfigHandler handler = new ValidationEditorConfigHandler(recorder, provider) {
+
+			@Override
+			public void error(ParseException e) {
+				// the message of the exception contains the location in the re-parsed lines
+				addError(parsed, start, e.getReason(), true, e.getLocation(), null, e.getErrorType(),
+						getSeverity(e));
+			}
+
+			@Override
+			public Object startSection() {
+				parsed.get(getParsedIndex(parsed, getLocation())).kind = LineKind.SECTION;
+				return null;
+			}
+
+			@Override
+			public Object startOption() {
+				parsed.get(getParsedIndex(parsed, getLocation())).kind = LineKind.OPTION;
+				return null;
+			}
+		};
+		// the empty last line after a '\n' is parsed only when it's the whole
+		// content, as the parser reports an empty content.
+		if (start < end || start == 0) {
+			EditorConfigParser<Object, Object> parser = EditorConfigParser.getThreadParser(handler);
+			parser.setTolerant(true);
+			parser.parse(content.subSequence(start, end));
+		}
+		for (Line line : parsed) {
+			if (line.kind == LineKind.BLANK && isComment(content, line.start, end)) {
+				line.kind = LineKind.COMMENT;
+			}
+		}
+		return parsed;
+	}
+
+	private static void addError(List<Line> parsed, int start, String message, boolean located,
+			Location errorStart, Location errorEnd, ErrorType type, Severity severity) {
+		int index = getParsedIndex(parsed, errorStart);
+		Line line = parsed.get(index);
+		int offset = start - line.start;
+		if (line.errors == null) {
+			line.errors = new ArrayList<>(1);
+		}
+		line.errors.add(new LineError(message, located, errorStart.translate(offset, -index),
+				errorEnd != null ? errorEnd.translate(offset, -index) : null, type, severity));
+	}
+
+	private static int getParsedIndex(List<Line> parsed, Location location) {
+		return Math.max(0, Math.min(location.line - 1, parsed.size() - 1));
+	}
+
+	private static boolean isComment(CharSequence content, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = content.charAt(i);
+			if (c == '#' || c == ';') {
+				return true;
+			}
+			if (!Character.isWhitespace(c) || c == '\n') {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private void report(int from, int to, IReporter reporter) {
+		for (int i = from; i < to; i++) {
+			Line line = lines.get(i);
+			if (line.errors != null) {
+				for (LineError error : line.errors) {
+					Location start = error.start.translate(line.start, i);
+					reporter.addError(error.located ? error.message + " at " + start : error.message, start,
+							error.end != null ? error.end.translate(line.start, i) : null, error.type,
+							error.severity);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.eclipse.ec4e.services.model.EditorConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EditorConfigCacheTest {
+
+	private Path configFile;
+
+	@Before
+	public void createConfig() throws IOException {
+		configFile = Files.createTempDirectory("ec4e").resolve(".editorconfig");
+	}
+
+	@After
+	public void deleteConfig() throws IOException {
+		Files.deleteIfExists(configFile);
+		Files.delete(configFile.getParent());
+	}
+
+	@Test
+	public void reuseUnmodifiedConfig() throws Exception {
+		EditorConfigCache cache = new EditorConfigCache();
+		write("[*]\nindent_style = tab\n", System.currentTimeMillis() - 60000);
+		EditorConfig config = cache.get(configFile);
+		Assert.assertSame(config, cache.get(configFile));
+	}
+
+	@Test
+	public void invalidateModifiedConfig() throws Exception {
+		EditorConfigCache cache = new EditorConfigCache();
+		long lastModified = System.currentTimeMillis() - 60000;
+		write("[*]\nindent_style = tab\n", lastModified);
+		Assert.assertEquals("[indent_style = tab]", getOptions(cache));
+		write("[*]\nindent_size = 4\n", lastModified + 1000);
+		Assert.assertEquals("[indent_size = 4]", getOptions(cache));
+		Files.delete(configFile);
+		Assert.assertNull(cache.get(configFile));
+	}
+
+	@Test
+	public void invalidateSameSizeEditInSameTick() throws Exception {
+		EditorConfigCache cache = new EditorConfigCache();
+		// a file system where the last modified time has a resolution of 2 seconds
+		long lastModified = System.currentTimeMillis() / 2000 * 2000;
+		write("[*]\nindent_style = tab\n", lastModified);
+		Assert.assertEquals("[indent_style = tab]", getOptions(cache));
+		write("[*]\nindent_style = spc\n", lastModified);
+		Assert.assertEquals("[indent_style = spc]", getOptions(cache));
+	}
+
+	@Test
+	public void dropConfigsReadBeforeWatching() throws Exception {
+		EditorConfigCache cache = new EditorConfigCache();
+		long lastModified = System.currentTimeMillis() - 60000;
+		write("[*]\nindent_style = tab\n", lastModified);
+		Assert.assertEquals("[indent_style = tab]", getOptions(cache));
+		// modified before the watch starts, so it is never evicted
+		write("[*]\nindent_size = 4\n", lastModified + 1000);
+		cache.setWatched(true);
+		Assert.assertEquals("[indent_size = 4]", getOptions(cache));
+	}
+
+	@Test
+	public void checkRacyConfigWhenWatched() throws Exception {
+		EditorConfigCache cache = new EditorConfigCache();
+		cache.setWatched(true);
+		long lastModified = System.currentTimeMillis() / 2000 * 2000;
+		write("[*]\nindent_style = tab\n", lastModified);
+		Assert.assertEquals("[indent_style = tab]", getOptions(cache));
+		write("[*]\nindent_style = spc\n", lastModified);
+		Assert.assertEquals("[indent_style = spc]", getOptions(cache));
+	}
+
+	private String getOptions(EditorConfigCache cache) throws IOException {
+		return cache.get(configFile).getSections().get(0).getOptions().toString();
+	}
+
+	private void write(String content, long lastModified) throws IOException {
+		Files.write(configFile, content.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(configFile, FileTime.fromMillis(lastModified));
+	}
+}
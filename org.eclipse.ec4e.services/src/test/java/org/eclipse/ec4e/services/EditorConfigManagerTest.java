@@ -0,0 +1,259 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ec4e.services.model.EditorConfig;
+import org.eclipse.ec4e.services.model.Option;
+import org.eclipse.ec4e.services.model.ResolvedOptions;
+import org.eclipse.ec4e.services.model.options.EndOfLineOption;
+import org.eclipse.ec4e.services.model.options.IndentStyleOption;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EditorConfigManagerTest {
+
+	private TemporaryTree tree;
+	private Path root;
+
+	@Before
+	public void createTree() throws IOException {
+		tree = new TemporaryTree();
+		root = tree.getRoot();
+		Files.createDirectories(root.resolve("a/b"));
+		write(".editorconfig", "root = true\n[*]\nindent_size = 4\n[*.java]\nindent_style = tab\n");
+		write("a/b/X.java", "");
+	}
+
+	@After
+	public void deleteTree() throws IOException {
+		tree.delete();
+	}
+
+	@Test
+	public void getOptions() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		File file = root.resolve("a/b/X.java").toFile();
+		Assert.assertEquals("[indent_size = 4, indent_style = tab]", manager.getOptions(file, null).toString());
+		Assert.assertEquals("[indent_size = 4]",
+				manager.getOptions(root.resolve("a/b/X.txt").toFile(), null).toString());
+	}
+
+	@Test
+	public void reloadChangedConfig() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		File file = root.resolve("a/b/X.java").toFile();
+		Assert.assertEquals("[indent_size = 4, indent_style = tab]", manager.getOptions(file, null).toString());
+		write(".editorconfig", "root = true\n[*]\nindent_size = 2\n");
+		Assert.assertEquals("[indent_size = 2]", manager.getOptions(file, null).toString());
+	}
+
+	@Test
+	public void memoizeWhenWatched() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		manager.setWatched(true);
+		File file = root.resolve("a/b/X.java").toFile();
+		Collection<Option> options = manager.getOptions(file, null);
+		Assert.assertSame(options, manager.getOptions(file, null));
+
+		write("a/.editorconfig", "[*.java]\nindent_size = 2\n");
+		manager.invalidate(root.resolve("a/.editorconfig").toFile());
+		Assert.assertNotSame(options, manager.getOptions(file, null));
+		Assert.assertEquals(2, manager.getOptions(file, null).size());
+	}
+
+	@Test
+	public void memoizeWhenNotWatched() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		File file = root.resolve("a/b/X.java").toFile();
+		Collection<Option> options = manager.getOptions(file, null);
+		Assert.assertSame(options, manager.getOptions(file, null));
+		Assert.assertSame(manager.getResolvedOptions(file, null), manager.getResolvedOptions(file, null));
+
+		// not invalidated, the new config is found by the stat calls
+		write("a/.editorconfig", "[*.java]\nindent_size = 2\n");
+		Assert.assertEquals("[indent_size = 2, indent_style = tab]", manager.getOptions(file, null).toString());
+		Assert.assertEquals(0, manager.getOptions(file.toPath(), Collections.singleton(root.resolve("a/b"))).size());
+	}
+
+	@Test
+	public void rememberMissingConfigWhenWatched() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		manager.setWatched(true);
+		Assert.assertEquals(2, manager.getOptions(root.resolve("a/b/X.java").toFile(), null).size());
+
+		// a/.editorconfig is known as missing until it is invalidated
+		write("a/.editorconfig", "[*.java]\ntab_width = 2\n");
+		File otherFile = root.resolve("a/b/Y.java").toFile();
+		Assert.assertEquals(2, manager.getOptions(otherFile, null).size());
+		manager.invalidate(root.resolve("a/.editorconfig").toFile());
+		Assert.assertEquals(3, manager.getOptions(otherFile, null).size());
+	}
+
+	@Test
+	public void rememberMissingConfigOfWatchedDirectory() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		manager.setWatched(root.resolve("a"), true);
+		Assert.assertTrue(manager.isWatched());
+		File file = root.resolve("a/b/X.java").toFile();
+		Assert.assertEquals(2, manager.getOptions(file, null).size());
+
+		// a/b is not watched, a/b/.editorconfig is found by a stat call
+		write("a/b/.editorconfig", "[*.java]\ntab_width = 2\n");
+		Assert.assertEquals(3, manager.getOptions(file, null).size());
+		// a/.editorconfig is known as missing until it is invalidated
+		write("a/.editorconfig", "[*.java]\nindent_size = 2\n");
+		Assert.assertEquals(3, manager.getOptions(file, null).size());
+		manager.invalidate(root.resolve("a/.editorconfig").toFile());
+		Assert.assertEquals("[indent_size = 2, indent_style = tab, tab_width = 2]",
+				manager.getOptions(file, null).toString());
+
+		manager.setWatched(root.resolve("a"), false);
+		Assert.assertFalse(manager.isWatched());
+		Files.delete(root.resolve("a/.editorconfig"));
+		Assert.assertEquals("[indent_size = 4, indent_style = tab, tab_width = 2]",
+				manager.getOptions(file, null).toString());
+	}
+
+	@Test
+	public void shareConfigChainWhenWatched() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		manager.setWatched(true);
+		Path dir = root.resolve("a/b");
+		List<EditorConfig> chain = manager.getConfigChain(dir, null, null);
+		Assert.assertEquals(1, chain.size());
+		Assert.assertSame(chain, manager.getConfigChain(dir, null, null));
+		Assert.assertEquals(0, manager.getConfigChain(dir, Collections.singleton(dir), null).size());
+
+		write("a/.editorconfig", "[*.java]\nindent_size = 2\n");
+		manager.invalidate(root.resolve("a/.editorconfig"));
+		Assert.assertEquals(2, manager.getConfigChain(dir, null, null).size());
+		Assert.assertEquals("[indent_size = 2, indent_style = tab]",
+				manager.getOptions(dir.resolve("X.java"), null).toString());
+	}
+
+	@Test
+	public void checkSharedConfigChainWhenNotWatched() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		Path dir = root.resolve("a/b");
+		List<EditorConfig> chain = manager.getConfigChain(dir, null, null);
+		Assert.assertSame(chain, manager.getConfigChain(dir, null, null));
+
+		// not invalidated, the new config is found by the stat calls
+		write("a/.editorconfig", "[*.java]\nindent_size = 2\n");
+		Assert.assertEquals(2, manager.getConfigChain(dir, null, null).size());
+		Files.delete(root.resolve("a/.editorconfig"));
+		Assert.assertEquals(1, manager.getConfigChain(dir, null, null).size());
+	}
+
+	@Test
+	public void getResolvedOptions() throws Exception {
+		write("a/.editorconfig", "[*.java]\nindent_size = tab\ntab_width = 8\nend_of_line = CRLF\n"
+				+ "insert_final_newline = true\ncharset = utf-8\ntrim_trailing_whitespace = maybe\nmax_line_length = 80\n");
+		EditorConfigManager manager = new EditorConfigManager();
+		ResolvedOptions options = manager.getResolvedOptions(root.resolve("a/b/X.java"), null);
+		Assert.assertEquals(IndentStyleOption.TAB, options.getIndentStyle());
+		Assert.assertEquals(8, options.getIndentSize());
+		Assert.assertEquals(8, options.getTabWidth());
+		Assert.assertEquals(EndOfLineOption.CRLF, options.getEndOfLine());
+		Assert.assertEquals("utf-8", options.getCharset());
+		Assert.assertEquals(Boolean.TRUE, options.getInsertFinalNewline());
+		Assert.assertNull(options.getTrimTrailingWhitespace());
+		Assert.assertEquals(Collections.singletonMap("max_line_length", "80"), options.getOtherOptions());
+
+		options = manager.getResolvedOptions(root.resolve("X.txt"), null);
+		Assert.assertNull(options.getIndentStyle());
+		Assert.assertEquals(4, options.getIndentSize());
+		Assert.assertEquals(ResolvedOptions.UNSET, options.getTabWidth());
+
+		manager.setWatched(true);
+		Assert.assertSame(manager.getResolvedOptions(root.resolve("X.txt"), null),
+				manager.getResolvedOptions(root.resolve("X.txt"), null));
+	}
+
+	@Test
+	public void loadAsciiAndUtf8Configs() throws Exception {
+		write("a/.editorconfig", "# caf\u00e9\n[*.txt]\nindent_size = 2\nauthor = Jos\u00e9\n");
+		write("a/b/.editorconfig", "[*.txt]\ntab_width = 8\n");
+		EditorConfigManager manager = new EditorConfigManager();
+		Assert.assertEquals("[indent_size = 2, author = Jos\u00e9, tab_width = 8]",
+				manager.getOptions(root.resolve("a/b/X.txt"), null).toString());
+	}
+
+	@Test
+	public void nearestConfigTakesPrecedence() throws Exception {
+		write("a/.editorconfig", "[*]\nindent_size = 2\n");
+		EditorConfigManager manager = new EditorConfigManager();
+		Assert.assertEquals("[indent_size = 2, indent_style = tab]",
+				manager.getOptions(root.resolve("a/b/X.java").toFile(), null).toString());
+	}
+
+	@Test
+	public void getOptionsOfFiles() throws Exception {
+		write("a/.editorconfig", "[*.txt]\nindent_size = 2\n");
+		EditorConfigManager manager = new EditorConfigManager();
+		List<Path> files = Arrays.asList(root.resolve("a/b/X.java"), root.resolve("a/Y.txt"),
+				root.resolve("a/b/Z.txt"), root.resolve("W.java"));
+		Map<Path, Collection<Option>> options = manager.getOptions(files, null);
+		Assert.assertEquals(files, new ArrayList<>(options.keySet()));
+		for (Path file : files) {
+			Assert.assertEquals(file.toString(), manager.getOptions(file.toFile(), null).toString(),
+					options.get(file).toString());
+		}
+		Assert.assertEquals("[indent_size = 2]", options.get(root.resolve("a/Y.txt")).toString());
+
+		// the parent directory is root
+		options = manager.getOptions(files, Collections.singleton(root.resolve("a")));
+		Assert.assertEquals("[]", options.get(root.resolve("a/b/X.java")).toString());
+		Assert.assertEquals("[indent_size = 4, indent_style = tab]", options.get(root.resolve("W.java")).toString());
+	}
+
+	@Test
+	public void getOptionsInZipFile() throws Exception {
+		URI uri = URI.create("jar:" + root.resolve("test.zip").toUri());
+		try (FileSystem zip = FileSystems.newFileSystem(uri, Collections.singletonMap("create", "true"))) {
+			Files.createDirectories(zip.getPath("/a/b"));
+			Files.write(zip.getPath("/.editorconfig"), "root = true\n[*.java]\nindent_size = 2\n".getBytes());
+			Files.write(zip.getPath("/a/.editorconfig"), "[b/*.java]\nindent_style = tab\n".getBytes());
+			Files.write(zip.getPath("/a/b/X.java"), new byte[0]);
+			EditorConfigManager manager = new EditorConfigManager();
+			Assert.assertEquals("[indent_size = 2, indent_style = tab]",
+					manager.getOptions(zip.getPath("/a/b/X.java"), null).toString());
+			Assert.assertEquals("[indent_size = 2]", manager.getOptions(zip.getPath("/X.java"), null).toString());
+			Map<Path, Collection<Option>> options = new EditorConfigTreeResolver(manager).resolve(zip.getPath("/a"),
+					null);
+			Assert.assertEquals("[indent_size = 2, indent_style = tab]",
+					options.get(zip.getPath("/a/b/X.java")).toString());
+		}
+	}
+
+	private void write(String path, String content) throws IOException {
+		Path file = tree.write(path, content);
+		// old enough to be trusted by the cache, all the edits change the size
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+	}
+}
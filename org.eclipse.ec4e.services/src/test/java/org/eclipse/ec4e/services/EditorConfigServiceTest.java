@@ -0,0 +1,81 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.ec4e.services.completion.ICompletionEntry;
+import org.eclipse.ec4e.services.completion.ICompletionEntryMatcher;
+import org.eclipse.ec4e.services.model.options.ConfigPropertyType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EditorConfigServiceTest {
+
+	private static final String CONTENT = "root = true\r\n\r\n# comment\n[*.java]\nindent_style = sp\n"
+			+ "indent_size = tab\rindent\n";
+
+	/**
+	 * Content provider which implements only the per-char methods.
+	 */
+	private static final ContentProvider<String> CHAR_CONTENT_PROVIDER = new ContentProvider<String>() {
+
+		@Override
+		public char getChar(String document, int offset) throws Exception {
+			return document.charAt(offset);
+		}
+
+		@Override
+		public int getLength(String document) {
+			return document.length();
+		}
+	};
+
+	@Test
+	public void getLine() throws Exception {
+		ContentProvider<String> provider = ContentProvider.STRING_CONTENT_PROVIDER;
+		int offset = CONTENT.indexOf("dent_style");
+		Assert.assertEquals(CONTENT.indexOf("indent_style"), provider.getLineOffset(CONTENT, offset));
+		Assert.assertEquals("indent_style = sp", provider.getLine(CONTENT, offset).toString());
+		Assert.assertEquals("root = true", provider.getLine(CONTENT, CONTENT.indexOf('\r')).toString());
+		Assert.assertEquals("", provider.getLine(CONTENT, CONTENT.length()).toString());
+		for (int i = 0; i <= CONTENT.length(); i++) {
+			Assert.assertEquals(provider.getLineOffset(CONTENT, i), CHAR_CONTENT_PROVIDER.getLineOffset(CONTENT, i));
+			Assert.assertEquals(provider.getLine(CONTENT, i).toString(),
+					CHAR_CONTENT_PROVIDER.getLine(CONTENT, i).toString());
+		}
+	}
+
+	@Test
+	public void completionAndHover() throws Exception {
+		Assert.assertEquals("[space]", getCompletionNames(CONTENT.indexOf("sp\n") + 2));
+		Assert.assertEquals("[indent_size, indent_style]", getCompletionNames(CONTENT.length() - 1));
+		Assert.assertEquals("[]", getCompletionNames(CONTENT.indexOf("java")));
+		Assert.assertEquals("[]", getCompletionNames(CONTENT.indexOf("comment") + 3));
+
+		Assert.assertEquals(ConfigPropertyType.INDENT_SIZE.getDescription(), EditorConfigService
+				.getHover(CONTENT.indexOf("tab"), CONTENT, ContentProvider.STRING_CONTENT_PROVIDER));
+		Assert.assertEquals(ConfigPropertyType.ROOT.getDescription(),
+				EditorConfigService.getHover(1, CONTENT, ContentProvider.STRING_CONTENT_PROVIDER));
+		Assert.assertNull(EditorConfigService.getHover(CONTENT.length() - 1, CONTENT,
+				ContentProvider.STRING_CONTENT_PROVIDER));
+		// a word at the end of the document
+		Assert.assertEquals(ConfigPropertyType.ROOT.getDescription(),
+				EditorConfigService.getHover(1, "root", ContentProvider.STRING_CONTENT_PROVIDER));
+	}
+
+	private static String getCompletionNames(int offset) throws Exception {
+		List<ICompletionEntry> entries = EditorConfigService.getCompletionEntries(offset, CONTENT,
+				ICompletionEntryMatcher.LCS);
+		return entries.stream().map(ICompletionEntry::getName).sorted().collect(Collectors.toList()).toString();
+	}
+}
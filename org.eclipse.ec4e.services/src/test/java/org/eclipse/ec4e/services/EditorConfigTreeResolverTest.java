@@ -0,0 +1,115 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.eclipse.ec4e.services.model.Option;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EditorConfigTreeResolverTest {
+
+	private TemporaryTree tree;
+	private Path root;
+
+	@Before
+	public void createTree() throws IOException {
+		tree = new TemporaryTree();
+		root = tree.getRoot();
+		write(".editorconfig", "[*]\nindent_size = 4\n[*.java]\nindent_style = tab\n");
+		write("a/.editorconfig", "[*.java]\nindent_size = 2\n");
+		write("a/b/.editorconfig", "root = true\n[*.txt]\ntab_width = 8\n");
+		for (String file : new String[] { "X.java", "a/X.java", "a/Y.txt", "a/b/X.java", "a/b/Y.txt", "a/b/c/Z.txt",
+				"d/e/X.java" }) {
+			write(file, "");
+		}
+	}
+
+	@After
+	public void deleteTree() throws IOException {
+		tree.delete();
+	}
+
+	@Test
+	public void sameAsGetOptions() throws Exception {
+		EditorConfigManager manager = new EditorConfigManager();
+		Map<Path, Collection<Option>> options = new EditorConfigTreeResolver(manager, new ForkJoinPool(2))
+				.resolve(root, null);
+		try (Stream<Path> paths = Files.walk(root)) {
+			Assert.assertEquals(paths.filter(Files::isRegularFile).count(), options.size());
+		}
+		for (Map.Entry<Path, Collection<Option>> entry : options.entrySet()) {
+			Assert.assertEquals(entry.getKey().toString(), manager.getOptions(entry.getKey().toFile(), null).toString(),
+					entry.getValue().toString());
+		}
+		Assert.assertEquals("[indent_size = 2, indent_style = tab]", options.get(root.resolve("a/X.java")).toString());
+		Assert.assertEquals("[]", options.get(root.resolve("a/b/X.java")).toString());
+		Assert.assertEquals("[tab_width = 8]", options.get(root.resolve("a/b/c/Z.txt")).toString());
+	}
+
+	@Test
+	public void symbolicLinks() throws Exception {
+		Files.createSymbolicLink(root.resolve("a/link.java"), root.resolve("X.java"));
+		Files.createSymbolicLink(root.resolve("a/linkToDir"), root.resolve("d"));
+		Files.createSymbolicLink(root.resolve("a/broken.java"), root.resolve("missing.java"));
+		Files.createSymbolicLink(root.resolve("a/loop"), root.resolve("a/loop"));
+		Set<Path> errors = ConcurrentHashMap.newKeySet();
+		Map<Path, Collection<Option>> options = new ConcurrentHashMap<>();
+		new EditorConfigTreeResolver(new EditorConfigManager()).resolve(root, null, options::put,
+				(path, e) -> errors.add(path));
+		Assert.assertEquals("[indent_size = 2, indent_style = tab]",
+				options.get(root.resolve("a/link.java")).toString());
+		Assert.assertFalse(options.containsKey(root.resolve("a/linkToDir")));
+		Assert.assertFalse(options.containsKey(root.resolve("a/linkToDir/X.java")));
+		Assert.assertFalse(options.containsKey(root.resolve("a/broken.java")));
+		Assert.assertFalse(options.containsKey(root.resolve("a/loop")));
+		// the other files are resolved
+		Assert.assertTrue(options.containsKey(root.resolve("a/b/c/Z.txt")));
+		Assert.assertEquals("[" + root.resolve("a/loop") + "]", errors.toString());
+	}
+
+	@Test
+	public void unreadableDirectory() throws Exception {
+		Path locked = root.resolve("a/b");
+		Files.setPosixFilePermissions(locked, PosixFilePermissions.fromString("---------"));
+		try {
+			Set<Path> errors = ConcurrentHashMap.newKeySet();
+			Map<Path, Collection<Option>> options = new ConcurrentHashMap<>();
+			new EditorConfigTreeResolver(new EditorConfigManager()).resolve(root, null, options::put,
+					(path, e) -> errors.add(path));
+			Assert.assertTrue(options.containsKey(root.resolve("a/X.java")));
+			Assert.assertTrue(options.containsKey(root.resolve("d/e/X.java")));
+			// the permissions don't apply to the super user
+			if (!Files.isReadable(locked)) {
+				Assert.assertEquals("[" + locked + "]", errors.toString());
+				Assert.assertFalse(options.containsKey(root.resolve("a/b/X.java")));
+			}
+		} finally {
+			Files.setPosixFilePermissions(locked, PosixFilePermissions.fromString("rwx------"));
+		}
+	}
+
+	private void write(String path, String content) throws IOException {
+		tree.write(path, content);
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EditorConfigWatchServiceTest {
+
+	// the watch service of some platforms polls the directories
+	private static final long TIMEOUT = 30000;
+
+	private TemporaryTree tree;
+	private Path root;
+	private EditorConfigManager manager;
+	private EditorConfigWatchService service;
+
+	@Before
+	public void createTree() throws IOException {
+		tree = new TemporaryTree();
+		root = tree.getRoot();
+		write(".editorconfig", "[*]\nindent_size = 2\n");
+		manager = new EditorConfigManager();
+		service = new EditorConfigWatchService(manager);
+	}
+
+	@After
+	public void deleteTree() throws IOException {
+		service.close();
+		tree.delete();
+	}
+
+	@Test
+	public void watchedOnlyWhileWatching() throws Exception {
+		Assert.assertFalse(manager.isWatched());
+		service.configChanged(root.resolve(".editorconfig").toFile());
+		Assert.assertFalse(manager.isWatched());
+		service.watch(root.toFile());
+		Assert.assertTrue(manager.isWatched());
+		service.close();
+		Assert.assertFalse(manager.isWatched());
+		service.watch(root.toFile());
+		Assert.assertTrue(manager.isWatched());
+	}
+
+	@Test
+	public void invalidateOnChange() throws Exception {
+		service.watch(root.toFile());
+		assertOptions("[indent_size = 2]", "X.java");
+		// edit
+		write(".editorconfig", "[*]\nindent_size = 4\n");
+		assertOptions("[indent_size = 4]", "X.java");
+		// create in a new directory, once the options of its files are memoized
+		Files.createDirectories(root.resolve("a"));
+		assertOptions("[indent_size = 4]", "a/X.java");
+		write("a/.editorconfig", "[*]\ntab_width = 8\n");
+		assertOptions("[indent_size = 4, tab_width = 8]", "a/X.java");
+		// delete
+		Files.delete(root.resolve("a/.editorconfig"));
+		assertOptions("[indent_size = 4]", "a/X.java");
+	}
+
+	@Test
+	public void invalidateOnDeletedDirectory() throws Exception {
+		write("a/.editorconfig", "[*]\ntab_width = 8\n");
+		service.watch(root.toFile());
+		assertOptions("[indent_size = 2, tab_width = 8]", "a/X.java");
+		Files.delete(root.resolve("a/.editorconfig"));
+		Files.delete(root.resolve("a"));
+		assertOptions("[indent_size = 2]", "a/X.java");
+		write("a/.editorconfig", "[*]\ntab_width = 3\n");
+		assertOptions("[indent_size = 2, tab_width = 3]", "a/X.java");
+	}
+
+	@Test
+	public void checkFilesOutsideWatchedTree() throws Exception {
+		write("a/.editorconfig", "[*]\ntab_width = 8\n");
+		service.watch(root.resolve("a").toFile());
+		Path file = root.resolve("b/X.java");
+		Assert.assertEquals("[indent_size = 2]", manager.getOptions(file, null).toString());
+		// b is not watched, its new .editorconfig is found without notification
+		write("b/.editorconfig", "[*]\ntab_width = 4\n");
+		Assert.assertEquals("[indent_size = 2, tab_width = 4]", manager.getOptions(file, null).toString());
+	}
+
+	@Test
+	public void reset() throws Exception {
+		// the changes are not notified by a watch, the manager trusts its cache
+		manager.setWatched(true);
+		Files.setLastModifiedTime(root.resolve(".editorconfig"),
+				FileTime.fromMillis(System.currentTimeMillis() - 60000));
+		Path file = root.resolve("X.java");
+		Assert.assertEquals("[indent_size = 2]", manager.getOptions(file, null).toString());
+		write(".editorconfig", "[*]\nindent_size = 4\n");
+		Assert.assertEquals("[indent_size = 2]", manager.getOptions(file, null).toString());
+		service.reset();
+		Assert.assertEquals("[indent_size = 4]", manager.getOptions(file, null).toString());
+	}
+
+	/**
+	 * Waits until the watch service invalidates the options of the given file,
+	 * which are memoized by the watched manager.
+	 */
+	private void assertOptions(String expected, String file) throws Exception {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		String options = manager.getOptions(root.resolve(file), null).toString();
+		while (!expected.equals(options) && System.currentTimeMillis() < end) {
+			Thread.sleep(20);
+			options = manager.getOptions(root.resolve(file), null).toString();
+		}
+		Assert.assertEquals(expected, options);
+	}
+
+	private void write(String path, String content) throws IOException {
+		tree.write(path, content);
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Temporary directory tree of a test, deleted with its content by
+ * {@link #delete()}.
+ */
+class TemporaryTree {
+
+	private final Path root;
+
+	TemporaryTree() throws IOException {
+		// the real path, as reported by a watch service
+		this.root = Files.createTempDirectory("ec4e").toRealPath();
+	}
+
+	Path getRoot() {
+		return root;
+	}
+
+	/**
+	 * Writes the given content in UTF-8 to the given file of the tree, the
+	 * parent directories are created.
+	 */
+	Path write(String path, String content) throws IOException {
+		Path file = root.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	void delete() throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+}
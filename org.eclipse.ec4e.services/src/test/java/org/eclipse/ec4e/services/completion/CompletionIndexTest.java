@@ -0,0 +1,100 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.completion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompletionIndexTest {
+
+	private static final String[] NAMES = { "indent_style", "indent_size", "tab_width", "end_of_line", "charset",
+			"trim_trailing_whitespace", "insert_final_newline", "root", "ij_continuation_indent_size",
+			"ij_java_align_multiline_parameters", "dotnet_sort_system_directives_first",
+			"csharp_new_line_before_open_brace", "ktlint_disabled_rules", "max_line_length", "IJ_ANY_WRAP_LONG_LINES" };
+
+	@Test
+	public void candidates() {
+		CompletionIndex index = new CompletionIndex(NAMES);
+		Assert.assertEquals(NAMES.length, index.size());
+		Assert.assertEquals("[indent_style, indent_size, ij_continuation_indent_size]", getCandidates(index, "indent"));
+		Assert.assertEquals("[indent_style, indent_size, ij_continuation_indent_size]",
+				getCandidates(index, "INDENT_S"));
+		Assert.assertEquals("[IJ_ANY_WRAP_LONG_LINES]", getCandidates(index, "ij_any"));
+		Assert.assertEquals(NAMES.length, getCandidates(index, "").split(",").length);
+		Assert.assertEquals("[]", getCandidates(index, "zz"));
+	}
+
+	@Test
+	public void candidatesContainMatches() {
+		CompletionIndex index = new CompletionIndex(NAMES);
+		String[] tokens = { "i", "is", "ind", "ins", "tw", "eol", "csh", "IJcont", "ktr", "ws", "max_", "wrap", "xyz",
+				"ANY", "ij_", "newline", "rules" };
+		for (String token : tokens) {
+			List<String> candidates = new ArrayList<>();
+			index.forEachCandidate(token, i -> candidates.add(index.getName(i)));
+			for (String name : NAMES) {
+				int[] sequence = LCSS.bestSubsequence(name, token);
+				if (sequence.length > 0) {
+					Assert.assertTrue(token + " " + name, candidates.contains(name));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void candidatesAreSubsequences() {
+		// more than 64 names, to use several words of the bit sets
+		Random random = new Random(0);
+		String[] names = new String[200];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = randomString(random, "abcdAB_", 1 + random.nextInt(15));
+		}
+		CompletionIndex index = new CompletionIndex(names);
+		for (int n = 0; n < 500; n++) {
+			String token = randomString(random, "abcdeAB_", 1 + random.nextInt(4));
+			List<String> expected = new ArrayList<>();
+			for (String name : names) {
+				if (isSubsequenceIgnoreCase(token, name)) {
+					expected.add(name);
+				}
+			}
+			Assert.assertEquals(token, expected.toString(), getCandidates(index, token));
+		}
+	}
+
+	private static boolean isSubsequenceIgnoreCase(String token, String name) {
+		int t = 0;
+		for (int i = 0; i < name.length() && t < token.length(); i++) {
+			if (Character.toLowerCase(name.charAt(i)) == Character.toLowerCase(token.charAt(t))) {
+				t++;
+			}
+		}
+		return t == token.length();
+	}
+
+	private static String randomString(Random random, String chars, int length) {
+		StringBuilder s = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			s.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return s.toString();
+	}
+
+	private static String getCandidates(CompletionIndex index, String token) {
+		List<String> candidates = new ArrayList<>();
+		index.forEachCandidate(token, i -> candidates.add(index.getName(i)));
+		return candidates.toString();
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.completion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the best subsequence of the {@link SequenceFinder}, which builds all
+ * the matching sequences, with the {@link SubsequenceScorer} on long option
+ * names.
+ *
+ * <p>
+ * Run it with the main method (the test classpath is required), the GC
+ * profiler reports the allocation rate (gc.alloc.rate.norm is the number of
+ * bytes allocated by match).
+ * </p>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SubsequenceScorerBenchmark {
+
+	@Param({ "ij_java_align_multiline_parameters_in_calls", "IJ_KOTLIN_CONTINUATION_INDENT_IN_ELVIS",
+			"dotnet_style_prefer_conditional_expression_over_assignment" })
+	public String name;
+
+	@Param({ "in", "align", "ijcont" })
+	public String token;
+
+	@Benchmark
+	public int[] sequenceFinder() {
+		int bestScore = -1;
+		int[] bestSequence = null;
+		for (int[] sequence : LCSS.findSequences(name, token)) {
+			int score = LCSS.scoreSubsequence(sequence);
+			if (score > bestScore) {
+				bestScore = score;
+				bestSequence = sequence;
+			}
+		}
+		return bestSequence;
+	}
+
+	@Benchmark
+	public int[] scorerSubsequence() {
+		return SubsequenceScorer.getThreadScorer().bestSubsequence(name, token);
+	}
+
+	@Benchmark
+	public int scorerScore() {
+		return SubsequenceScorer.getThreadScorer().bestScore(name, token);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SubsequenceScorerBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+}
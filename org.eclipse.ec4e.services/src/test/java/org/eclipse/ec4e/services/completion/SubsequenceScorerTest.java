@@ -0,0 +1,81 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.completion;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SubsequenceScorerTest {
+
+	private static final String[] NAMES = { "indent_style", "indent_size", "trim_trailing_whitespace",
+			"insert_final_newline", "ij_java_align_multiline_parameters_in_calls", "IJ_ANY_WRAP_LONG_LINES",
+			"dotnet_sort_system_directives_first", "csharpNewLineBeforeOpenBrace", "aaa_aaa", "end_of_line" };
+
+	private static final String[] TOKENS = { "i", "is", "ind", "ins", "tw", "ijjamp", "IJwrap", "lines", "nl", "aa",
+			"aaaa", "a_a", "eol", "_", "NewLine", "ds", "xyz" };
+
+	@Test
+	public void bestSubsequence() {
+		SubsequenceScorer scorer = SubsequenceScorer.getThreadScorer();
+		Assert.assertArrayEquals(new int[] { 0, 1, 2 }, scorer.bestSubsequence("indent_style", "ind"));
+		Assert.assertEquals(2, scorer.bestScore("indent_style", "ind"));
+		Assert.assertArrayEquals(new int[] { 0, 7 }, scorer.bestSubsequence("indent_style", "is"));
+		Assert.assertEquals(0, scorer.bestScore("indent_style", "is"));
+		Assert.assertEquals(0, scorer.bestSubsequence("indent_style", "xyz").length);
+		Assert.assertEquals(-1, scorer.bestScore("indent_style", "xyz"));
+		Assert.assertEquals(-1, scorer.bestScore("root", "roots"));
+	}
+
+	@Test
+	public void sameAsSequenceFinder() {
+		for (String name : NAMES) {
+			for (String token : TOKENS) {
+				assertSameAsSequenceFinder(name, token);
+			}
+		}
+		Random random = new Random(0);
+		String chars = "abAB_1";
+		for (int n = 0; n < 20000; n++) {
+			String name = randomString(random, chars, 1 + random.nextInt(12));
+			String token = randomString(random, chars, 1 + random.nextInt(4));
+			assertSameAsSequenceFinder(name, token);
+			assertSameAsSequenceFinder(name.toUpperCase(), token);
+		}
+	}
+
+	private static void assertSameAsSequenceFinder(String name, String token) {
+		int bestScore = -1;
+		int[] bestSequence = new int[0];
+		for (int[] sequence : LCSS.findSequences(name, token)) {
+			int score = LCSS.scoreSubsequence(sequence);
+			if (score > bestScore) {
+				bestScore = score;
+				bestSequence = sequence;
+			}
+		}
+		SubsequenceScorer scorer = SubsequenceScorer.getThreadScorer();
+		String message = name + " " + token;
+		Assert.assertEquals(message, Arrays.toString(bestSequence),
+				Arrays.toString(scorer.bestSubsequence(name, token)));
+		Assert.assertEquals(message, bestScore, scorer.bestScore(name, token));
+	}
+
+	private static String randomString(Random random, String chars, int length) {
+		StringBuilder s = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			s.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return s.toString();
+	}
+}
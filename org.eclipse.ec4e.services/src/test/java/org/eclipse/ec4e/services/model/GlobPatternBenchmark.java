@@ -0,0 +1,104 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link GlobPattern} with the regular expression converted by
+ * {@link RegexpUtils}.
+ *
+ * <p>
+ * Run it with the main method (the test classpath is required).
+ * </p>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class GlobPatternBenchmark {
+
+	@Param({ "**/*.{js,ts,jsx,tsx}", "**/[Mm]akefile", "/home/user/workspace/project/**/*.java",
+			"**/part-{1..512}/**/*.txt" })
+	public String glob;
+
+	@Param({ "/home/user/workspace/project/src/main/java/org/eclipse/ec4e/services/model/GlobPattern.java",
+			"/home/user/workspace/project/node_modules/some-module/lib/part-42/index.ts" })
+	public String path;
+
+	private GlobPattern pattern;
+	private Pattern regexp;
+	private List<int[]> ranges;
+
+	@Setup
+	public void setup() {
+		pattern = GlobPattern.compile(glob);
+		ranges = new ArrayList<>();
+		regexp = Pattern.compile(RegexpUtils.convertGlobToRegEx(glob, ranges));
+	}
+
+	@Benchmark
+	public boolean globPattern() {
+		return pattern.matches(path);
+	}
+
+	@Benchmark
+	public boolean regexp() {
+		Matcher matcher = regexp.matcher(path);
+		if (!matcher.matches()) {
+			return false;
+		}
+		for (int i = 0; i < matcher.groupCount(); i++) {
+			int[] range = ranges.get(i);
+			int n = Integer.parseInt(matcher.group(i + 1));
+			if (n < range[0] || n > range[1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Benchmark
+	public boolean compileAndMatchGlobPattern() {
+		return GlobPattern.compile(glob).matches(path);
+	}
+
+	@Benchmark
+	public boolean compileAndMatchRegexp() {
+		return Pattern.compile(RegexpUtils.convertGlobToRegEx(glob, new ArrayList<>())).matcher(path).matches();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GlobPatternBenchmark.class.getSimpleName()).build()).run();
+	}
+}
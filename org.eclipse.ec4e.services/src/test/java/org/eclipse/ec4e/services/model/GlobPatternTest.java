@@ -0,0 +1,194 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlobPatternTest {
+
+	private static final String[] GLOBS = { "**/*", "**/*.java", "**/*.{js,ts,jsx,tsx}", "**/Makefile",
+			"**/[Mm]akefile", "**/[!a]*.txt", "**/a?c", "/root/src/**/*.js", "/root/src/*.js", "/root/**",
+			"**/{package.json,.travis.yml}", "**/part-{1..512}.txt", "**/{a,b}/*.c", "**/{x}" };
+
+	private static final String[] PATHS = { "/root/src/Main.java", "/root/src/a/b/app.js", "/root/src/app.ts",
+			"/root/Makefile", "/root/makefile", "/root/b.txt", "/root/a.txt", "/root/abc", "/root/a/c",
+			"/root/src/app.js", "/root/package.json", "/root/part-1.txt", "/root/part-512.txt", "/root/part-513.txt",
+			"/root/part-01.txt", "/root/a/x.c", "/root/c/x.c", "/root/{x}", "/root/x" };
+
+	@Test
+	public void sameAsRegexp() {
+		for (String glob : GLOBS) {
+			GlobPattern pattern = GlobPattern.compile(glob);
+			for (String path : PATHS) {
+				Assert.assertEquals(glob + " with " + path, regexpMatches(glob, path), pattern.matches(path));
+			}
+		}
+	}
+
+	@Test
+	public void collectMatches() {
+		List<String> prefixes = new ArrayList<>(Collections.nCopies(GLOBS.length, ""));
+		List<String> globs = new ArrayList<>(Arrays.asList(GLOBS));
+		prefixes.add("/root/");
+		globs.add("**/*.js");
+		prefixes.add("/root/");
+		globs.add("*.txt");
+		GlobPattern patterns = GlobPattern.compile(prefixes, globs);
+		for (String path : PATHS) {
+			BitSet matches = new BitSet();
+			patterns.collectMatches(path, matches);
+			for (int i = 0; i < globs.size(); i++) {
+				Assert.assertEquals(globs.get(i) + " with " + path,
+						GlobPattern.compile(prefixes.get(i), globs.get(i)).matches(path), matches.get(i));
+			}
+		}
+		BitSet matches = new BitSet();
+		GlobPattern.compile(Collections.<String>emptyList(), Collections.<String>emptyList()).collectMatches("/a",
+				matches);
+		Assert.assertTrue(matches.isEmpty());
+	}
+
+	@Test
+	public void concurrentMatches() throws Exception {
+		GlobPattern patterns = GlobPattern.compile(Collections.nCopies(GLOBS.length, ""), Arrays.asList(GLOBS));
+		BitSet[] expected = new BitSet[PATHS.length];
+		for (int i = 0; i < PATHS.length; i++) {
+			expected[i] = new BitSet();
+			for (int j = 0; j < GLOBS.length; j++) {
+				expected[i].set(j, GlobPattern.compile(GLOBS[j]).matches(PATHS[i]));
+			}
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int n = 0; n < 200; n++) {
+						for (int i = 0; i < PATHS.length; i++) {
+							BitSet matches = new BitSet();
+							patterns.collectMatches(PATHS[i], matches);
+							Assert.assertEquals(PATHS[i], expected[i], matches);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void star() {
+		GlobPattern pattern = GlobPattern.compile("**/*.java");
+		Assert.assertTrue(pattern.matches("/a/b/Main.java"));
+		Assert.assertFalse(pattern.matches("/a/b/Main.javax"));
+		Assert.assertFalse(GlobPattern.compile("/a/*.java").matches("/a/b/Main.java"));
+	}
+
+	@Test
+	public void starStar() {
+		GlobPattern pattern = GlobPattern.compile("/a/", "**/*.java");
+		Assert.assertTrue(pattern.matches("/a/Main.java"));
+		Assert.assertTrue(pattern.matches("/a/b/c/Main.java"));
+		Assert.assertFalse(pattern.matches("/b/Main.java"));
+	}
+
+	@Test
+	public void literalPrefix() {
+		GlobPattern pattern = GlobPattern.compile("/a[1]/", "*.java");
+		Assert.assertTrue(pattern.matches("/a[1]/Main.java"));
+		Assert.assertFalse(pattern.matches("/a1/Main.java"));
+	}
+
+	@Test
+	public void braces() {
+		GlobPattern pattern = GlobPattern.compile("**/*.{js,{ts,tsx}}");
+		Assert.assertTrue(pattern.matches("/a/b.js"));
+		Assert.assertTrue(pattern.matches("/a/b.tsx"));
+		Assert.assertFalse(pattern.matches("/a/b.jsx"));
+		Assert.assertTrue(GlobPattern.compile("**/{single}").matches("/a/{single}"));
+		Assert.assertTrue(GlobPattern.compile("**/{unclosed").matches("/a/{unclosed"));
+	}
+
+	@Test
+	public void numericRange() {
+		GlobPattern pattern = GlobPattern.compile("**/part-{3..120}");
+		for (int i = 0; i < 200; i++) {
+			Assert.assertEquals("part-" + i, i >= 3 && i <= 120, pattern.matches("/a/part-" + i));
+		}
+		Assert.assertFalse(pattern.matches("/a/part-010"));
+		Assert.assertFalse(pattern.matches("/a/part-"));
+		Assert.assertTrue(GlobPattern.compile("**/{-5..5}").matches("/a/5"));
+		Assert.assertFalse(GlobPattern.compile("**/{-5..5}").matches("/a/0"));
+		Assert.assertFalse(GlobPattern.compile("**/{5..1}").matches("/a/3"));
+		Assert.assertTrue(GlobPattern.compile("**/{1..99999999}*{1..99999999}").matches("/a/123456789"));
+	}
+
+	@Test
+	public void numericRangeBounds() {
+		int[] bounds = { 1, 7, 9, 10, 11, 19, 20, 99, 100, 101, 120, 199, 512, 999, 1000 };
+		for (int min : bounds) {
+			for (int max : bounds) {
+				GlobPattern pattern = GlobPattern.compile("{" + min + ".." + max + "}.txt");
+				for (int i = 0; i <= 1100; i++) {
+					Assert.assertEquals(min + ".." + max + " with " + i, i >= min && i <= max,
+							pattern.matches(i + ".txt"));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void escape() {
+		GlobPattern pattern = GlobPattern.compile("**/\\*.java");
+		Assert.assertTrue(pattern.matches("/a/*.java"));
+		Assert.assertFalse(pattern.matches("/a/Main.java"));
+	}
+
+	/**
+	 * Returns true if the given path matches the regular expression converted
+	 * from the glob by {@link RegexpUtils}.
+	 */
+	private static boolean regexpMatches(String glob, String path) {
+		List<int[]> ranges = new ArrayList<>();
+		Matcher matcher = Pattern.compile(RegexpUtils.convertGlobToRegEx(glob, ranges)).matcher(path);
+		if (!matcher.matches()) {
+			return false;
+		}
+		for (int i = 0; i < matcher.groupCount(); i++) {
+			int[] range = ranges.get(i);
+			String number = matcher.group(i + 1);
+			if (number == null || number.startsWith("0")) {
+				return false;
+			}
+			int n = Integer.parseInt(number);
+			if (n < range[0] || n > range[1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
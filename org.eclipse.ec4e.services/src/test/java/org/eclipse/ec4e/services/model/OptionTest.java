@@ -0,0 +1,63 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.eclipse.ec4e.services.model.options.ConfigPropertyType;
+import org.eclipse.ec4e.services.model.options.IndentStyleOption;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OptionTest {
+
+	@Test
+	public void parsedValues() throws Exception {
+		EditorConfig config = EditorConfig.load(new StringReader(
+				"[*]\nindent_style = Space\nindent_size = tab\ntab_width = x\nINSERT_FINAL_NEWLINE = true\nfoo = 12\n"));
+		List<Option> options = config.getSections().get(0).getOptions();
+
+		Option indentStyle = options.get(0);
+		Assert.assertSame(ConfigPropertyType.INDENT_STYLE, indentStyle.getType());
+		Assert.assertEquals(IndentStyleOption.SPACE, indentStyle.getParsedValue(ConfigPropertyType.INDENT_STYLE));
+		Assert.assertNull(indentStyle.getParsedValue(ConfigPropertyType.END_OF_LINE));
+
+		Option indentSize = options.get(1);
+		Assert.assertTrue(indentSize.isValid());
+		Assert.assertNull(indentSize.getParsedValue(ConfigPropertyType.INDENT_SIZE));
+
+		Option tabWidth = options.get(2);
+		Assert.assertFalse(tabWidth.isValid());
+		Assert.assertEquals(-1, tabWidth.getIntValue());
+
+		Assert.assertEquals(Boolean.TRUE, options.get(3).getParsedValue(ConfigPropertyType.INSERT_FINAL_NEWLINE));
+
+		Option unknown = options.get(4);
+		Assert.assertNull(unknown.getType());
+		Assert.assertTrue(unknown.isValid());
+		Assert.assertEquals(12, unknown.getIntValue());
+	}
+
+	@Test
+	public void canonicalNamesAndValues() throws Exception {
+		Option first = EditorConfig.load(new StringReader("[*]\nindent_style = space\n")).getSections().get(0)
+				.getOptions().get(0);
+		Option second = EditorConfig.load(new StringReader("[*.java]\nindent_style = space\n")).getSections().get(0)
+				.getOptions().get(0);
+		Assert.assertSame(ConfigPropertyType.INDENT_STYLE.getName(), first.getName());
+		Assert.assertSame(first.getValue(), second.getValue());
+		Option unknown = EditorConfig.load(new StringReader("[*]\nfoo = bar\n")).getSections().get(0).getOptions()
+				.get(0);
+		Assert.assertEquals("foo", unknown.getName());
+		Assert.assertEquals("bar", unknown.getValue());
+	}
+}
@@ -7,7 +7,12 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class RegexpUtils {
+/**
+ * Translation of a glob to a regular expression, which was used to match the
+ * sections before {@link GlobPattern}. The tests and the benchmark compare
+ * {@link GlobPattern} with it.
+ */
+class RegexpUtils {
 
 	private static final Pattern OPENING_BRACES = Pattern.compile("(?:^|[^\\\\])\\{");
 	private static final Pattern CLOSING_BRACES = Pattern.compile("(?:^|[^\\\\])}");
@@ -0,0 +1,64 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.model;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SectionMatcherTest {
+
+	private static final String CONFIG = "[*]\na=1\n[*.java]\na=1\n[{*.js,*.ts}]\na=1\n[*.{md,txt}]\na=1\n"
+			+ "[Makefile]\na=1\n[{package.json,.travis.yml}]\na=1\n[*.tar.gz]\na=1\n[src/*.java]\na=1\n"
+			+ "[*Test.java]\na=1\n[{x}]\na=1\n[*.{1..3}]\na=1\n[**]\na=1\n[*.]\na=1\n";
+
+	private static final String[] PATHS = { "/a/Main.java", "/a/MainTest.java", "/a/app.js", "/a/app.ts",
+			"/a/app.tsx", "/a/README.md", "/a/notes.txt", "/a/Makefile", "/a/b/package.json", "/a/.travis.yml",
+			"/a/x.tar.gz", "/a/x.gz", "/src/Main.java", "/a/{x}", "/a/x.2", "/a/x.", "/a/.java", "Main.java", "/" };
+
+	@Test
+	public void sameAsSectionMatch() throws Exception {
+		EditorConfig config = EditorConfig.load(new StringReader(CONFIG));
+		List<Section> sections = config.getSections();
+		for (String path : PATHS) {
+			File file = new File(path);
+			BitSet matches = config.match(file);
+			for (int i = 0; i < sections.size(); i++) {
+				Assert.assertEquals(sections.get(i).getPatterns() + " with " + path, sections.get(i).match(file),
+						matches.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void indexedSections() throws Exception {
+		EditorConfig config = EditorConfig.load(new StringReader(CONFIG));
+		// [*], [*.java], [**]
+		Assert.assertEquals("{0, 1, 11}", config.match(new File("/a/Main.java")).toString());
+		// [*], [*.{md,txt}], [**]
+		Assert.assertEquals("{0, 3, 11}", config.match(new File("/a/b/notes.txt")).toString());
+	}
+
+	@Test
+	public void normalizedPath() throws Exception {
+		EditorConfig config = EditorConfig.load(new StringReader(CONFIG));
+		FilePath path = new FilePath("C:\\a\\Main.java");
+		Assert.assertEquals("C:/a/Main.java", path.toString());
+		Assert.assertEquals(5, path.getNameStart());
+		BitSet matches = new BitSet();
+		config.match(path, matches);
+		Assert.assertEquals("{0, 1, 11}", matches.toString());
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ec4e.services.parser.handlers.EditorConfigHandlerAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the allocations of a new {@link EditorConfigParser} by parse with
+ * the parser of the thread, which keeps its buffers.
+ *
+ * <p>
+ * Run it with the main method (the test classpath is required), the GC
+ * profiler reports the allocation rate (gc.alloc.rate.norm is the number of
+ * bytes allocated by parse).
+ * </p>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class EditorConfigParserBenchmark {
+
+	private static final String CONTENT = "root = true\n\n[*]\nindent_style = space\nindent_size = 4\n"
+			+ "end_of_line = lf\ncharset = utf-8\ntrim_trailing_whitespace = true\ninsert_final_newline = true\n\n"
+			+ "[*.{js,ts}]\nindent_size = 2\n\n[Makefile]\nindent_style = tab\n";
+
+	private final EditorConfigHandlerAdapter<Object, Object> handler = new EditorConfigHandlerAdapter<>();
+
+	@Benchmark
+	public EditorConfigParser<Object, Object> newParserReader() throws IOException {
+		EditorConfigParser<Object, Object> parser = new EditorConfigParser<>(handler);
+		parser.parse(new StringReader(CONTENT));
+		return parser;
+	}
+
+	@Benchmark
+	public EditorConfigParser<Object, Object> threadParserReader() throws IOException {
+		EditorConfigParser<Object, Object> parser = EditorConfigParser.getThreadParser(handler);
+		parser.parse(new StringReader(CONTENT));
+		return parser;
+	}
+
+	@Benchmark
+	public EditorConfigParser<Object, Object> newParserInPlace() {
+		EditorConfigParser<Object, Object> parser = new EditorConfigParser<>(handler);
+		parser.parse(CONTENT);
+		return parser;
+	}
+
+	@Benchmark
+	public EditorConfigParser<Object, Object> threadParserInPlace() {
+		EditorConfigParser<Object, Object> parser = EditorConfigParser.getThreadParser(handler);
+		parser.parse(CONTENT);
+		return parser;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(EditorConfigParserBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+}
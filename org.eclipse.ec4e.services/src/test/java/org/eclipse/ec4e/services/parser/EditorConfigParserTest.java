@@ -0,0 +1,172 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.parser;
+
+import java.io.StringReader;
+import java.nio.CharBuffer;
+
+import org.eclipse.ec4e.services.parser.handlers.AbstractEditorConfigHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EditorConfigParserTest {
+
+	private static final String CONTENT = "root = true\n\n# comment\n[*.{java,js}]\nindent_style = space\n"
+			+ "indent_size=4\r\n[a\\tb]\nname = va\\tlue\n[unclosed\nnovalue\nend = of_input";
+
+	/**
+	 * Records the events of the parser with their location.
+	 */
+	private static class RecordingHandler extends AbstractEditorConfigHandler<Object, Object> {
+
+		private final StringBuilder events = new StringBuilder();
+
+		private void record(String event) {
+			events.append(event).append(" at ").append(getLocation()).append('\n');
+		}
+
+		@Override
+		public Object startSection() {
+			record("startSection");
+			return null;
+		}
+
+		@Override
+		public void endSection(Object section) {
+			record("endSection");
+		}
+
+		@Override
+		public void startMultiPatternSection(Object section) {
+			record("startMultiPatternSection");
+		}
+
+		@Override
+		public void endMultiPatternSection(Object section) {
+			record("endMultiPatternSection");
+		}
+
+		@Override
+		public void startPattern(Object section, int i) {
+			record("startPattern " + i);
+		}
+
+		@Override
+		public void endPattern(Object section, String pattern, int i) {
+			record("endPattern " + i + " " + pattern);
+		}
+
+		@Override
+		public Object startOption() {
+			record("startOption");
+			return null;
+		}
+
+		@Override
+		public void endOption(Object option, Object section) {
+			record("endOption");
+		}
+
+		@Override
+		public void startOptionName(Object option) {
+			record("startOptionName");
+		}
+
+		@Override
+		public void endOptionName(Object option, String name) {
+			record("endOptionName " + name);
+		}
+
+		@Override
+		public void startOptionValue(Object option, String name) {
+			record("startOptionValue " + name);
+		}
+
+		@Override
+		public void endOptionValue(Object option, String value, String name) {
+			record("endOptionValue " + name + "=" + value);
+		}
+
+		@Override
+		public void startComment() {
+			record("startComment");
+		}
+
+		@Override
+		public void endComment() {
+			record("endComment");
+		}
+
+		@Override
+		public void error(ParseException e) {
+			record("error " + e.getMessage());
+		}
+	}
+
+	@Test
+	public void parseInPlaceSameAsReader() throws Exception {
+		String expected = parseReader(CONTENT, 3);
+		Assert.assertEquals(expected, parseReader(CONTENT, 1024));
+		Assert.assertEquals(expected, parseInPlace(CONTENT));
+		// a char buffer which doesn't start at the beginning of its array
+		char[] chars = ("xx" + CONTENT + "yy").toCharArray();
+		Assert.assertEquals(expected, parseInPlace(CharBuffer.wrap(chars, 2, CONTENT.length()).slice()));
+		Assert.assertTrue(expected, expected.contains("endOptionValue name=va\tlue"));
+		Assert.assertTrue(expected, expected.contains("endOptionValue end=of_input"));
+	}
+
+	@Test
+	public void reuseThreadParser() throws Exception {
+		String expected = parseInPlace(CONTENT);
+		RecordingHandler first = new RecordingHandler();
+		EditorConfigParser<Object, Object> parser = EditorConfigParser.getThreadParser(first);
+		parser.setTolerant(true);
+		parser.parse(CONTENT);
+		Assert.assertEquals(expected, first.events.toString());
+
+		RecordingHandler second = new RecordingHandler();
+		Assert.assertSame(parser, EditorConfigParser.getThreadParser(second));
+		Assert.assertFalse(parser.isTolerant());
+		parser.setTolerant(true);
+		parser.parse(new StringReader(CONTENT));
+		Assert.assertEquals(expected, second.events.toString());
+
+		// a handler which parses another input gets another parser
+		RecordingHandler nested = new RecordingHandler();
+		EditorConfigParser<Object, Object> outer = EditorConfigParser.getThreadParser(new RecordingHandler() {
+			@Override
+			public Object startSection() {
+				EditorConfigParser<Object, Object> inner = EditorConfigParser.getThreadParser(nested);
+				Assert.assertNotSame(parser, inner);
+				inner.parse("[*]\n");
+				return super.startSection();
+			}
+		});
+		outer.parse("[a]\nb = c\n");
+		Assert.assertTrue(nested.events.toString(), nested.events.toString().startsWith("startSection"));
+	}
+
+	private static String parseReader(String content, int bufferSize) throws Exception {
+		RecordingHandler handler = new RecordingHandler();
+		EditorConfigParser<Object, Object> parser = new EditorConfigParser<>(handler);
+		parser.setTolerant(true);
+		parser.parse(new StringReader(content), bufferSize);
+		return handler.events.toString();
+	}
+
+	private static String parseInPlace(CharSequence content) {
+		RecordingHandler handler = new RecordingHandler();
+		EditorConfigParser<Object, Object> parser = new EditorConfigParser<>(handler);
+		parser.setTolerant(true);
+		parser.parse(content);
+		return handler.events.toString();
+	}
+}
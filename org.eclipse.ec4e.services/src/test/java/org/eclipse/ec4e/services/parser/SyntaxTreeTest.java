@@ -0,0 +1,167 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.parser;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.ec4e.services.ContentProvider;
+import org.eclipse.ec4e.services.EditorConfigService;
+import org.eclipse.ec4e.services.completion.CompletionEntry;
+import org.eclipse.ec4e.services.completion.ICompletionEntryMatcher;
+import org.eclipse.ec4e.services.model.options.ConfigPropertyType;
+import org.eclipse.ec4e.services.parser.SyntaxTree.NodeKind;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SyntaxTreeTest {
+
+	private static final String CONTENT = "root = true\n\n# comment\n[{*.java,*.js}]\n  indent_style = space\n"
+			+ "indent_size=4\r\n[unclosed\nend_of_line = \n";
+
+	@Test
+	public void nodes() {
+		SyntaxTree tree = SyntaxTree.parse(CONTENT);
+		Assert.assertEquals(22, tree.getNodeCount());
+
+		int root = tree.getNodeAt(0);
+		Assert.assertEquals(NodeKind.OPTION_NAME, tree.getKind(root));
+		Assert.assertEquals("root", tree.getText(root));
+		Assert.assertEquals(NodeKind.OPTION, tree.getKind(tree.getParent(root)));
+		Assert.assertEquals(11, tree.getEnd(tree.getParent(root)));
+		Assert.assertEquals(SyntaxTree.NO_NODE, tree.getNodeAt(12));
+
+		int comment = tree.getNodeAt(CONTENT.indexOf("comment"));
+		Assert.assertEquals(NodeKind.COMMENT, tree.getKind(comment));
+		Assert.assertEquals(CONTENT.indexOf('#'), tree.getStart(comment));
+		Assert.assertEquals(CONTENT.indexOf("comment") + 7, tree.getEnd(comment));
+
+		int pattern = tree.getNodeAt(CONTENT.indexOf("*.js}"));
+		Assert.assertEquals(NodeKind.PATTERN, tree.getKind(pattern));
+		Assert.assertEquals("*.js", tree.getText(pattern));
+		Assert.assertEquals(NodeKind.SECTION, tree.getKind(tree.getNodeAt(CONTENT.indexOf("}]") + 1)));
+
+		// before the first token of a line
+		Assert.assertEquals(SyntaxTree.NO_NODE, tree.getNodeAt(CONTENT.indexOf("  indent_style") + 1));
+		int space = tree.getNodeAt(CONTENT.indexOf("space") + 5);
+		Assert.assertEquals(NodeKind.OPTION_VALUE, tree.getKind(space));
+		Assert.assertEquals("space", tree.getText(space));
+		int option = tree.getParent(space);
+		Assert.assertEquals("indent_style", tree.getText(tree.getChild(option, NodeKind.OPTION_NAME)));
+		int assignment = tree.getChild(option, NodeKind.ASSIGNMENT);
+		Assert.assertEquals(CONTENT.indexOf("= space"), tree.getStart(assignment));
+		Assert.assertEquals(CONTENT.indexOf("= space") + 1, tree.getEnd(assignment));
+
+		// "\r" isn't in the option
+		int four = tree.getNodeAt(CONTENT.indexOf("4\r") + 1);
+		Assert.assertEquals("4", tree.getText(four));
+		Assert.assertEquals(SyntaxTree.NO_NODE, tree.getNodeAt(CONTENT.indexOf("4\r") + 2));
+
+		// nodes ended by an error
+		Assert.assertEquals(NodeKind.PATTERN, tree.getKind(tree.getNodeAt(CONTENT.indexOf("unclosed") + 8)));
+		int missingValue = tree.getNodeAt(CONTENT.length() - 1);
+		Assert.assertEquals(NodeKind.OPTION_VALUE, tree.getKind(missingValue));
+		Assert.assertEquals("", tree.getText(missingValue));
+	}
+
+	@Test
+	public void trailingComments() {
+		String content = "[*] # section\nindent_size = 2 ; option\n";
+		SyntaxTree tree = SyntaxTree.parse(content);
+		int comment = tree.getNodeAt(content.indexOf("section"));
+		Assert.assertEquals(NodeKind.COMMENT, tree.getKind(comment));
+		Assert.assertEquals(content.indexOf('#'), tree.getStart(comment));
+		Assert.assertEquals(NodeKind.SECTION, tree.getKind(tree.getParent(comment)));
+		comment = tree.getNodeAt(content.indexOf("option"));
+		Assert.assertEquals(NodeKind.COMMENT, tree.getKind(comment));
+		Assert.assertEquals(content.indexOf(';'), tree.getStart(comment));
+		Assert.assertEquals(content.length() - 1, tree.getEnd(comment));
+		Assert.assertEquals(NodeKind.OPTION, tree.getKind(tree.getParent(comment)));
+	}
+
+	@Test
+	public void completionAndHover() {
+		SyntaxTree tree = SyntaxTree.parse(CONTENT);
+		Assert.assertEquals("[space, tab]",
+				EditorConfigService
+						.getCompletionEntries(CONTENT.indexOf("space"), tree, ICompletionEntryMatcher.LCS,
+								CompletionEntry::new)
+						.stream().map(CompletionEntry::getName).sorted().collect(Collectors.toList()).toString());
+		Assert.assertEquals("[indent_size, indent_style]",
+				EditorConfigService
+						.getCompletionEntries(CONTENT.indexOf("indent_style") + 3, tree, ICompletionEntryMatcher.LCS,
+								CompletionEntry::new)
+						.stream().map(CompletionEntry::getName).sorted().collect(Collectors.toList()).toString());
+		Assert.assertEquals("[cr, crlf, lf]",
+				EditorConfigService
+						.getCompletionEntries(CONTENT.length() - 1, tree, ICompletionEntryMatcher.LCS,
+								CompletionEntry::new)
+						.stream().map(CompletionEntry::getName).sorted().collect(Collectors.toList()).toString());
+		Assert.assertTrue(EditorConfigService
+				.getCompletionEntries(CONTENT.indexOf("comment"), tree, ICompletionEntryMatcher.LCS,
+						CompletionEntry::new)
+				.isEmpty());
+
+		Assert.assertEquals(ConfigPropertyType.INDENT_STYLE.getDescription(),
+				EditorConfigService.getHover(CONTENT.indexOf("dent_style"), tree));
+		Assert.assertEquals(ConfigPropertyType.INDENT_STYLE.getDescription(),
+				EditorConfigService.getHover(CONTENT.indexOf("pace"), tree));
+		Assert.assertNull(EditorConfigService.getHover(CONTENT.indexOf("unclosed"), tree));
+	}
+
+	@Test
+	public void sameContextAsLine() throws Exception {
+		String content = "root = true\n\n# comment\n[*] # all\nindent_style = space # trailing\n"
+				+ "insert_final_newline = true\ninsert_final_newline=true #x\nindent_size\nindent_size \n"
+				+ "[*.{js,\nend_of_line = \n  [unclosed\n\ttrim_trailing_whitespace = tr\r\n[*.md]\r\ntab_width=";
+		SyntaxTree tree = SyntaxTree.parse(content);
+		for (int offset = 0; offset <= content.length(); offset++) {
+			String message = offset + ": " + content.substring(content.lastIndexOf('\n', offset - 1) + 1, offset);
+			Assert.assertEquals(message,
+					getNames(EditorConfigService.getCompletionEntries(offset, content, ICompletionEntryMatcher.LCS,
+							CompletionEntry::new, ContentProvider.STRING_CONTENT_PROVIDER)),
+					getNames(EditorConfigService.getCompletionEntries(offset, tree, ICompletionEntryMatcher.LCS,
+							CompletionEntry::new)));
+			Assert.assertEquals(message,
+					EditorConfigService.getHover(offset, content, ContentProvider.STRING_CONTENT_PROVIDER),
+					EditorConfigService.getHover(offset, tree));
+		}
+	}
+
+	@Test
+	public void contextDifferentFromLine() {
+		// ';' starts a comment
+		String content = "indent_style = space ; t\n;c";
+		SyntaxTree tree = SyntaxTree.parse(content);
+		Assert.assertEquals("[]", getNames(EditorConfigService.getCompletionEntries(content.indexOf(" t") + 2, tree,
+				ICompletionEntryMatcher.LCS, CompletionEntry::new)));
+		Assert.assertNull(EditorConfigService.getHover(content.indexOf(" t") + 2, tree));
+		Assert.assertEquals("[]", getNames(EditorConfigService.getCompletionEntries(content.length(), tree,
+				ICompletionEntryMatcher.LCS, CompletionEntry::new)));
+
+		// the prefix is the text of the token
+		content = "charset = utf-";
+		tree = SyntaxTree.parse(content);
+		Assert.assertEquals("[utf-16be, utf-16le, utf-8, utf-8-bom]", getNames(EditorConfigService
+				.getCompletionEntries(content.length(), tree, ICompletionEntryMatcher.LCS, CompletionEntry::new)));
+
+		// after a name without '='
+		content = "tab_width 4";
+		tree = SyntaxTree.parse(content);
+		Assert.assertEquals(ConfigPropertyType.ALL_TYPES.length, EditorConfigService
+				.getCompletionEntries(content.length(), tree, ICompletionEntryMatcher.LCS, CompletionEntry::new)
+				.size());
+	}
+
+	private static String getNames(List<CompletionEntry> entries) {
+		return entries.stream().map(CompletionEntry::getName).sorted().collect(Collectors.toList()).toString();
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.services.validation;
+
+import java.util.Random;
+
+import org.eclipse.ec4e.services.EditorConfigService;
+import org.eclipse.ec4e.services.validation.IncrementalValidator.LineKind;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IncrementalValidatorTest {
+
+	private static final String CONTENT = "root = true\n\n# comment\n[*.{java,js}]\nindent_style = spaces\n"
+			+ "indent_size=4\r\nfoo = bar\n[unclosed\nnovalue\n; other comment\nend_of_line = lf";
+
+	private static final String[] INSERTIONS = { "\n", "[", "]", "=", " ", "x", "indent_style", "tab", "\n[*]\n",
+			"# ", "\r\n", "true\nfoo" };
+
+	@Test
+	public void lineKinds() {
+		IncrementalValidator validator = new IncrementalValidator();
+		validator.validate(CONTENT, (message, start, end, type, severity) -> {
+		});
+		Assert.assertEquals(11, validator.getLineCount());
+		Assert.assertEquals(LineKind.OPTION, validator.getLineKind(0));
+		Assert.assertEquals(LineKind.BLANK, validator.getLineKind(1));
+		Assert.assertEquals(LineKind.COMMENT, validator.getLineKind(2));
+		Assert.assertEquals(LineKind.SECTION, validator.getLineKind(3));
+		Assert.assertEquals(LineKind.COMMENT, validator.getLineKind(9));
+		Assert.assertEquals(CONTENT.indexOf("[unclosed"), validator.getLineOffset(7));
+		Assert.assertEquals(7, validator.getLineIndex(CONTENT.indexOf("unclosed")));
+	}
+
+	@Test
+	public void updateSameAsFullValidation() {
+		IncrementalValidator validator = new IncrementalValidator();
+		String content = CONTENT;
+		validator.validate(content, (message, start, end, type, severity) -> {
+		});
+		Random random = new Random(42);
+		for (int i = 0; i < 500; i++) {
+			int offset = random.nextInt(content.length() + 1);
+			int removedLength = random.nextInt(Math.min(content.length() - offset, 12) + 1);
+			String inserted = random.nextBoolean() ? INSERTIONS[random.nextInt(INSERTIONS.length)] : "";
+			content = content.substring(0, offset) + inserted + content.substring(offset + removedLength);
+
+			StringBuilder changed = new StringBuilder();
+			validator.update(content, offset, removedLength, inserted.length(), record(changed));
+			Assert.assertTrue(validator.getChangedStart() <= offset);
+			Assert.assertTrue(validator.getChangedEnd() >= offset + inserted.length());
+			StringBuilder expected = new StringBuilder();
+			EditorConfigService.validate(content, record(expected));
+			StringBuilder actual = new StringBuilder();
+			validator.report(record(actual));
+			Assert.assertEquals(content, expected.toString(), actual.toString());
+			Assert.assertTrue(content, actual.toString().contains(changed));
+		}
+	}
+
+	@Test
+	public void updateReportsChangedLines() {
+		IncrementalValidator validator = new IncrementalValidator();
+		validator.validate(CONTENT, (message, start, end, type, severity) -> {
+		});
+		String content = CONTENT.replace("foo = bar", "foo = bar\nbaz = qux");
+		StringBuilder changed = new StringBuilder();
+		validator.update(content, CONTENT.indexOf("foo = bar") + 9, 0, 10, record(changed));
+		Assert.assertEquals(CONTENT.indexOf("foo = bar"), validator.getChangedStart());
+		Assert.assertEquals(content.indexOf("[unclosed"), validator.getChangedEnd());
+		Assert.assertEquals(
+				"7:4 (77) - 7:1 (74) OptionNameNotExists The option 'foo' is not supported by .editorconfig\n" + //
+						"8:4 (87) - 8:1 (84) OptionNameNotExists The option 'baz' is not supported by .editorconfig\n",
+				changed.toString());
+	}
+
+	@Test
+	public void parseErrorMessageHasDocumentLocation() {
+		IncrementalValidator validator = new IncrementalValidator();
+		validator.validate(CONTENT, (message, start, end, type, severity) -> {
+		});
+		String content = CONTENT.replace("foo = bar", "foo = bar\n[x");
+		StringBuilder changed = new StringBuilder();
+		validator.update(content, CONTENT.indexOf("foo = bar") + 9, 0, 3, record(changed));
+		StringBuilder expected = new StringBuilder();
+		EditorConfigService.validate(content, record(expected));
+		Assert.assertTrue(changed.toString(), changed.toString().contains("Section not closed. Expected ']' at 8:"));
+		Assert.assertTrue(expected.toString(), expected.toString().contains(changed));
+	}
+
+	private static IReporter record(StringBuilder errors) {
+		return (message, start, end, type, severity) -> errors.append(start).append(" - ").append(end).append(' ')
+				.append(type).append(' ').append(message).append('\n');
+	}
+}
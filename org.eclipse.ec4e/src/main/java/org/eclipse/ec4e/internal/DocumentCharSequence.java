@@ -0,0 +1,102 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.internal;
+
+import java.util.function.Function;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ISynchronizable;
+
+/**
+ * {@link CharSequence} view of an Eclipse {@link IDocument}, so that the
+ * document can be parsed without copying its whole content with
+ * {@link IDocument#get()}.
+ *
+ * <p>
+ * The document must not be modified while the view is used, use
+ * {@link #read(IDocument, Function)} from a thread which is not the UI thread.
+ * </p>
+ *
+ */
+public class DocumentCharSequence implements CharSequence {
+
+	private final IDocument document;
+	private final int start;
+	private final int end;
+
+	/**
+	 * Reads the given document with the given reader. The document is read in
+	 * place while its lock object is held, so that the UI thread can't modify it
+	 * during the read. A document without lock object is read from a copy of its
+	 * content.
+	 *
+	 * @param document
+	 *            the document.
+	 * @param reader
+	 *            the reader of the content of the document.
+	 * @return the result of the reader.
+	 */
+	public static <T> T read(IDocument document, Function<CharSequence, T> reader) {
+		Object lockObject = document instanceof ISynchronizable ? ((ISynchronizable) document).getLockObject()
+				: null;
+		if (lockObject == null) {
+			return reader.apply(document.get());
+		}
+		synchronized (lockObject) {
+			return reader.apply(new DocumentCharSequence(document));
+		}
+	}
+
+	public DocumentCharSequence(IDocument document) {
+		this(document, 0, document.getLength());
+	}
+
+	private DocumentCharSequence(IDocument document, int start, int end) {
+		this.document = document;
+		this.start = start;
+		this.end = end;
+	}
+
+	@Override
+	public int length() {
+		return end - start;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length()) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		try {
+			return document.getChar(start + index);
+		} catch (BadLocationException e) {
+			throw new IndexOutOfBoundsException(e.getMessage());
+		}
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+		}
+		return new DocumentCharSequence(document, this.start + start, this.start + end);
+	}
+
+	@Override
+	public String toString() {
+		try {
+			return document.get(start, end - start);
+		} catch (BadLocationException e) {
+			throw new IndexOutOfBoundsException(e.getMessage());
+		}
+	}
+}
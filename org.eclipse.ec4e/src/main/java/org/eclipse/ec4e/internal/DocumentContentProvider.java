@@ -12,6 +12,7 @@ package org.eclipse.ec4e.internal;
 
 import org.eclipse.ec4e.services.ContentProvider;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 
 /**
  * {@link ContentProvider} implementation for Eclipse {@link IDocument}.
@@ -34,4 +35,16 @@ public class DocumentContentProvider implements ContentProvider<IDocument> {
 		return document.getLength();
 	}
 
+	@Override
+	public int getLineOffset(IDocument document, int offset) throws Exception {
+		return document.getLineOffset(document.getLineOfOffset(offset));
+	}
+
+	@Override
+	public CharSequence getLine(IDocument document, int offset) throws Exception {
+		int line = document.getLineOfOffset(offset);
+		IRegion region = document.getLineInformation(line);
+		return document.get(region.getOffset(), region.getLength());
+	}
+
 }
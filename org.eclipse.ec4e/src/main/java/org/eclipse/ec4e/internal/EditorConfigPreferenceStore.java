@@ -11,11 +11,11 @@
 package org.eclipse.ec4e.internal;
 
 import java.io.File;
-import java.util.Collection;
 
 import org.eclipse.ec4e.services.EditorConfigException;
-import org.eclipse.ec4e.services.model.Option;
+import org.eclipse.ec4e.services.model.ResolvedOptions;
 import org.eclipse.ec4e.services.model.options.EndOfLineOption;
+import org.eclipse.ec4e.services.model.options.IndentStyleOption;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
@@ -55,51 +55,52 @@ public class EditorConfigPreferenceStore implements IPreferenceStore {
 				spacesForTabs = null;
 				Integer oldTabWidth = tabWidth;
 				tabWidth = null;
-				Collection<Option> options = IDEEditorConfigManager.getInstance().getOptions(file, null);
-				for (Option option : options) {
-					if (!option.isValid()) {
-						continue;
+				ResolvedOptions options = IDEEditorConfigManager.getInstance().getResolvedOptions(file, null);
+				IndentStyleOption indentStyle = options.getIndentStyle();
+				if (indentStyle != null) {
+					spacesForTabs = indentStyle == IndentStyleOption.SPACE;
+					if (oldSpacesForTabs != spacesForTabs) {
+						editorStore.firePropertyChangeEvent(EDITOR_SPACES_FOR_TABS, oldSpacesForTabs, spacesForTabs);
 					}
-					if ("indent_style".equals(option.getName())) {
-						spacesForTabs = "space".equals(option.getValue());
-						if (oldSpacesForTabs != spacesForTabs) {
-							editorStore.firePropertyChangeEvent(EDITOR_SPACES_FOR_TABS, oldSpacesForTabs,
-									spacesForTabs);
-						}
-					} else if ("indent_size".equals(option.getName())) {
-						tabWidth = Integer.parseInt(option.getValue());
-						if (oldTabWidth != tabWidth) {
-							editorStore.firePropertyChangeEvent(EDITOR_TAB_WIDTH, oldTabWidth, tabWidth);
-						}
-					} else if ("end_of_line".equals(option.getName())) {
-						IEditorInput editorInput = textEditor.getEditorInput();
-						IDocument document = textEditor.getDocumentProvider().getDocument(editorInput);
-						if (document instanceof IDocumentExtension4) {
-							EndOfLineOption endOfLineOption = EndOfLineOption.valueOf(option.getValue().toUpperCase());
-							if (endOfLineOption != null) {
-								((IDocumentExtension4) document)
-										.setInitialLineDelimiter(endOfLineOption.getEndOfLineString());
-							}
-						}
-					} else if ("charset".equals(option.getName())) {
-						IEncodingSupport encodingSupport = textEditor.getAdapter(IEncodingSupport.class);
-						if (encodingSupport != null) {
-							encodingSupport.setEncoding(option.getValue().toUpperCase());
-						}
-					} else if ("trim_trailing_whitespace".equals(option.getName())) {
-						boolean oldTrimTrailingWhitespace = trimTrailingWhitespace;
-						trimTrailingWhitespace = "true".equals(option.getValue());
-						if (oldTrimTrailingWhitespace != trimTrailingWhitespace) {
-							editorStore.firePropertyChangeEvent(EDITOR_TRIM_TRAILING_WHITESPACE,
-									oldTrimTrailingWhitespace, trimTrailingWhitespace);
-						}
-					} else if ("insert_final_newline".equals(option.getName())) {
-						boolean oldInsertFinalNewline = insertFinalNewline;
-						insertFinalNewline = "true".equals(option.getValue());
-						if (oldInsertFinalNewline != insertFinalNewline) {
-							editorStore.firePropertyChangeEvent(EDITOR_INSERT_FINAL_NEWLINE, oldInsertFinalNewline,
-									insertFinalNewline);
-						}
+				}
+				int indentSize = options.getIndentSize();
+				if (indentSize != ResolvedOptions.UNSET) {
+					tabWidth = indentSize;
+					if (!tabWidth.equals(oldTabWidth)) {
+						editorStore.firePropertyChangeEvent(EDITOR_TAB_WIDTH, oldTabWidth, tabWidth);
+					}
+				}
+				EndOfLineOption endOfLine = options.getEndOfLine();
+				if (endOfLine != null) {
+					IEditorInput editorInput = textEditor.getEditorInput();
+					IDocument document = textEditor.getDocumentProvider().getDocument(editorInput);
+					if (document instanceof IDocumentExtension4) {
+						((IDocumentExtension4) document).setInitialLineDelimiter(endOfLine.getEndOfLineString());
+					}
+				}
+				String charset = options.getCharset();
+				if (charset != null) {
+					IEncodingSupport encodingSupport = textEditor.getAdapter(IEncodingSupport.class);
+					if (encodingSupport != null) {
+						encodingSupport.setEncoding(charset.toUpperCase());
+					}
+				}
+				Boolean trim = options.getTrimTrailingWhitespace();
+				if (trim != null) {
+					boolean oldTrimTrailingWhitespace = trimTrailingWhitespace;
+					trimTrailingWhitespace = trim;
+					if (oldTrimTrailingWhitespace != trimTrailingWhitespace) {
+						editorStore.firePropertyChangeEvent(EDITOR_TRIM_TRAILING_WHITESPACE, oldTrimTrailingWhitespace,
+								trimTrailingWhitespace);
+					}
+				}
+				Boolean finalNewline = options.getInsertFinalNewline();
+				if (finalNewline != null) {
+					boolean oldInsertFinalNewline = insertFinalNewline;
+					insertFinalNewline = finalNewline;
+					if (oldInsertFinalNewline != insertFinalNewline) {
+						editorStore.firePropertyChangeEvent(EDITOR_INSERT_FINAL_NEWLINE, oldInsertFinalNewline,
+								insertFinalNewline);
 					}
 				}
 			} catch (EditorConfigException e) {
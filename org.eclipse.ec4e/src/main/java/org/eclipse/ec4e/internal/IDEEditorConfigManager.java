@@ -10,13 +10,43 @@
  */
 package org.eclipse.ec4e.internal;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ec4e.services.EditorConfigConstants;
 import org.eclipse.ec4e.services.EditorConfigManager;
+import org.eclipse.ec4e.services.EditorConfigWatchService;
 
 /**
  * IDE editorconfig manager.
  *
+ * <p>
+ * The directory trees of the open projects (and their parent directories) are
+ * watched by an {@link EditorConfigWatchService}, so the options of the
+ * workspace files are resolved without stat call. The .editorconfig changes of
+ * the workspace are tracked too with a resource change listener, which
+ * invalidates the caches before the watch service. The .editorconfig files of
+ * the files opened from outside the projects are still checked when options
+ * are resolved.
+ * </p>
+ *
  */
-public class IDEEditorConfigManager extends EditorConfigManager {
+public class IDEEditorConfigManager extends EditorConfigManager implements IResourceChangeListener {
 
 	public static final IDEEditorConfigManager INSTANCE = new IDEEditorConfigManager();
 
@@ -24,4 +54,69 @@ public class IDEEditorConfigManager extends EditorConfigManager {
 		return INSTANCE;
 	}
 
+	private final EditorConfigWatchService watchService;
+
+	private IDEEditorConfigManager() {
+		this.watchService = new EditorConfigWatchService(this);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		watch(Arrays.asList(ResourcesPlugin.getWorkspace().getRoot().getProjects()));
+	}
+
+	/**
+	 * Watch the directory trees of the given projects in background. The
+	 * directories are trusted as soon as they are registered, a directory which
+	 * can't be registered (ex : too many watches) is still checked with stat
+	 * calls.
+	 */
+	private void watch(Collection<IProject> projects) {
+		Job job = new Job("Watch .editorconfig files") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				for (IProject project : projects) {
+					IPath location = project.getLocation();
+					if (project.isOpen() && location != null) {
+						try {
+							watchService.watch(location.toFile());
+						} catch (IOException e) {
+							e.printStackTrace();
+						}
+					}
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		List<IProject> openedProjects = new ArrayList<>();
+		try {
+			delta.accept(d -> {
+				IResource resource = d.getResource();
+				if (resource.getType() == IResource.PROJECT && (d.getKind() == IResourceDelta.ADDED
+						|| (d.getFlags() & IResourceDelta.OPEN) != 0)) {
+					openedProjects.add((IProject) resource);
+				} else if (resource.getType() == IResource.FILE
+						&& EditorConfigConstants.EDITORCONFIG.equals(resource.getName())) {
+					IPath location = resource.getLocation();
+					if (location != null) {
+						watchService.configChanged(location.toFile());
+					}
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			e.printStackTrace();
+		}
+		if (!openedProjects.isEmpty()) {
+			watch(openedProjects);
+		}
+	}
+
 }
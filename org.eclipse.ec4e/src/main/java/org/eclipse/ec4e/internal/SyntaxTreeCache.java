@@ -0,0 +1,74 @@
+/**
+ *  Copyright (c) 2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package org.eclipse.ec4e.internal;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.ec4e.services.parser.SyntaxTree;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+/**
+ * Cache of the {@link SyntaxTree} of the .editorconfig documents, so that the
+ * completion and the hover share the tree of a document until the document is
+ * modified.
+ *
+ */
+public class SyntaxTreeCache {
+
+	private static class Entry {
+
+		private final long modificationStamp;
+		private final SyntaxTree tree;
+
+		Entry(long modificationStamp, SyntaxTree tree) {
+			this.modificationStamp = modificationStamp;
+			this.tree = tree;
+		}
+	}
+
+	private static final Map<IDocument, Entry> TREES = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private SyntaxTreeCache() {
+	}
+
+	/**
+	 * Returns the syntax tree of the given document, which is parsed again when
+	 * the document has been modified.
+	 *
+	 * @param document
+	 *            the document.
+	 * @return the syntax tree of the given document.
+	 */
+	public static SyntaxTree getSyntaxTree(IDocument document) {
+		long modificationStamp = getModificationStamp(document);
+		Entry entry = TREES.get(document);
+		if (entry != null && entry.modificationStamp == modificationStamp
+				&& modificationStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			return entry.tree;
+		}
+		// the hover is computed out of the UI thread, the stamp is read with the
+		// content which is parsed
+		entry = DocumentCharSequence.read(document,
+				content -> new Entry(getModificationStamp(document), SyntaxTree.parse(content)));
+		if (entry.modificationStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			TREES.put(document, entry);
+		}
+		return entry.tree;
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		return document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+}
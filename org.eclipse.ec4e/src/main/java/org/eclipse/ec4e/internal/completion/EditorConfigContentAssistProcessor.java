@@ -10,7 +10,7 @@
  */
 package org.eclipse.ec4e.internal.completion;
 
-import org.eclipse.ec4e.internal.DocumentContentProvider;
+import org.eclipse.ec4e.internal.SyntaxTreeCache;
 import org.eclipse.ec4e.services.EditorConfigService;
 import org.eclipse.ec4e.services.completion.ICompletionEntryMatcher;
 import org.eclipse.jface.text.IDocument;
@@ -32,9 +32,9 @@ public class EditorConfigContentAssistProcessor implements IContentAssistProcess
 	public ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
 		IDocument document = viewer.getDocument();
 		try {
-			return EditorConfigService.getCompletionEntries(offset, document, ICompletionEntryMatcher.LCS,
-					EditorConfigCompletionProposal::new, DocumentContentProvider.INSTANCE)
-					.stream().toArray(ICompletionProposal[]::new);
+			return EditorConfigService.getCompletionEntries(offset, SyntaxTreeCache.getSyntaxTree(document),
+					ICompletionEntryMatcher.LCS, EditorConfigCompletionProposal::new).stream()
+					.toArray(ICompletionProposal[]::new);
 		} catch (Exception e) {
 		}
 		return null;
@@ -12,7 +12,7 @@ package org.eclipse.ec4e.internal.hover;
 
 import java.util.Iterator;
 
-import org.eclipse.ec4e.internal.DocumentContentProvider;
+import org.eclipse.ec4e.internal.SyntaxTreeCache;
 import org.eclipse.ec4e.services.EditorConfigService;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextHover;
@@ -37,8 +37,8 @@ public class EditorConfigTextHover implements ITextHover {
 			return null;
 		}
 		try {
-			return EditorConfigService.getHover(hoverRegion.getOffset(), textViewer.getDocument(),
-					DocumentContentProvider.INSTANCE);
+			return EditorConfigService.getHover(hoverRegion.getOffset(),
+					SyntaxTreeCache.getSyntaxTree(textViewer.getDocument()));
 		} catch (Exception e) {
 			return null;
 		}
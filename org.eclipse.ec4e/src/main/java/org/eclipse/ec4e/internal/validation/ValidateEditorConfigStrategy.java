@@ -1,7 +1,10 @@
 package org.eclipse.ec4e.internal.validation;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -13,27 +16,53 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ec4e.internal.DocumentCharSequence;
 import org.eclipse.ec4e.internal.validation.marker.MarkerUtils;
-import org.eclipse.ec4e.services.EditorConfigService;
 import org.eclipse.ec4e.services.parser.ErrorType;
+import org.eclipse.ec4e.services.validation.IReporter;
+import org.eclipse.ec4e.services.validation.IncrementalValidator;
 import org.eclipse.ec4e.services.validation.Severity;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconciler;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.ui.texteditor.MarkerAnnotation;
 import org.eclipse.ui.texteditor.MarkerUtilities;
 
 public class ValidateEditorConfigStrategy
 		implements IReconcilingStrategy, IReconcilingStrategyExtension, IReconciler {
 
+	private static class ValidationError {
+
+		private final String message;
+		private final int start;
+		private final int end;
+		private final ErrorType type;
+		private final Severity severity;
+
+		ValidationError(String message, int start, int end, ErrorType type, Severity severity) {
+			this.message = message;
+			this.start = start;
+			this.end = end;
+			this.type = type;
+			this.severity = severity;
+		}
+	}
+
 	private ITextViewer textViewer;
 
 	private IResource resource;
 
+	private IncrementalValidator validator = new IncrementalValidator();
+
 	public ValidateEditorConfigStrategy(IResource resource) {
 		this.resource = resource;
 	}
@@ -50,7 +79,7 @@ public class ValidateEditorConfigStrategy
 
 	@Override
 	public void setDocument(IDocument document) {
-
+		validator = new IncrementalValidator();
 	}
 
 	@Override
@@ -60,14 +89,10 @@ public class ValidateEditorConfigStrategy
 		}
 		try {
 			IDocument document = textViewer.getDocument();
-			Set<IMarker> remainingMarkers = MarkerUtils.findEditorConfigMarkers(resource).stream().filter(marker -> {
-				try {
-					return MarkerUtils.getOptionType(marker) == null;
-				} catch (CoreException e) {
-					return false;
-				}
-			}).collect(Collectors.toSet());
-			EditorConfigService.validate(document.get(), (message, start, end, type, severity) -> {
+			// re-parse only the lines of the dirty region, and synchronize only the
+			// markers of these lines with their errors.
+			List<ValidationError> errors = new ArrayList<>();
+			IReporter reporter = (message, start, end, type, severity) -> {
 				int startOffset = start.offset;
 				int endOffset = startOffset;
 				if (end == null) {
@@ -75,9 +100,25 @@ public class ValidateEditorConfigStrategy
 				} else {
 					endOffset = end.offset;
 				}
-				addError(message, startOffset, endOffset, type, severity, remainingMarkers);
+				errors.add(new ValidationError(message, startOffset, endOffset, type, severity));
+			};
+			// the markers are updated once the document is released
+			int length = DocumentCharSequence.read(document, content -> {
+				if (dirtyRegion == null) {
+					validator.validate(content, reporter);
+				} else if (DirtyRegion.REMOVE.equals(dirtyRegion.getType())) {
+					validator.update(content, dirtyRegion.getOffset(), dirtyRegion.getLength(), 0, reporter);
+				} else {
+					validator.update(content, dirtyRegion.getOffset(), 0, dirtyRegion.getLength(), reporter);
+				}
+				return content.length();
 			});
-			for (IMarker marker : remainingMarkers) {
+			Map<IMarker, Position> remainingMarkers = findMarkers(validator.getChangedStart(),
+					validator.getChangedEnd(), length);
+			for (ValidationError error : errors) {
+				addError(error.message, error.start, error.end, error.type, error.severity, remainingMarkers);
+			}
+			for (IMarker marker : remainingMarkers.keySet()) {
 				marker.delete();
 			}
 		} catch (Exception e) {
@@ -106,8 +147,55 @@ public class ValidateEditorConfigStrategy
 		return null;
 	}
 
+	/**
+	 * Returns the markers of the validator which belong to the lines between the
+	 * given offsets with their position in the document.
+	 *
+	 * <p>
+	 * The position of a marker comes from its annotation, which follows the
+	 * changes of the document, the offsets of the marker are the ones of its last
+	 * update. A marker belongs to the line of its end: the start of an error is
+	 * moved before the error when the error has no end.
+	 * </p>
+	 */
+	private Map<IMarker, Position> findMarkers(int start, int end, int length) throws CoreException {
+		Map<IMarker, Position> positions = new HashMap<>();
+		IAnnotationModel annotationModel = textViewer instanceof ISourceViewer
+				? ((ISourceViewer) textViewer).getAnnotationModel()
+				: null;
+		if (annotationModel != null) {
+			Iterator<Annotation> iter = annotationModel.getAnnotationIterator();
+			while (iter.hasNext()) {
+				Annotation annotation = iter.next();
+				if (annotation instanceof MarkerAnnotation) {
+					Position position = annotationModel.getPosition(annotation);
+					if (position != null && !position.isDeleted()) {
+						positions.put(((MarkerAnnotation) annotation).getMarker(), position);
+					}
+				}
+			}
+		}
+		Map<IMarker, Position> markers = new HashMap<>();
+		for (IMarker marker : MarkerUtils.findEditorConfigMarkers(resource)) {
+			if (MarkerUtils.getOptionType(marker) != null) {
+				continue;
+			}
+			Position position = positions.get(marker);
+			if (position == null) {
+				int charStart = MarkerUtilities.getCharStart(marker);
+				int charEnd = MarkerUtilities.getCharEnd(marker);
+				position = new Position(Math.min(charStart, charEnd), Math.abs(charEnd - charStart));
+			}
+			int markerEnd = position.getOffset() + position.getLength();
+			if (markerEnd >= start && (markerEnd < end || end == length)) {
+				markers.put(marker, position);
+			}
+		}
+		return markers;
+	}
+
 	private void addError(String message, int start, int end, ErrorType type, Severity severity,
-			Set<IMarker> remainingMarkers) {
+			Map<IMarker, Position> remainingMarkers) {
 		try {
 			IMarker associatedMarker = getExistingMarkerFor(resource, message, start, end, remainingMarkers);
 			if (associatedMarker == null) {
@@ -150,24 +238,21 @@ public class ValidateEditorConfigStrategy
 	}
 
 	private IMarker getExistingMarkerFor(IResource resource, String message, int start, int end,
-			Set<IMarker> remainingMarkers) {
+			Map<IMarker, Position> remainingMarkers) {
 		ITextFileBuffer textFileBuffer = FileBuffers.getTextFileBufferManager()
 				.getTextFileBuffer(resource.getFullPath(), LocationKind.IFILE);
 		if (textFileBuffer == null) {
 			return null;
 		}
-		try {
-			for (IMarker marker : remainingMarkers) {
-				int startOffset = MarkerUtilities.getCharStart(marker);
-				int endOffset = MarkerUtilities.getCharEnd(marker);
-				if (MarkerUtils.getOptionType(marker) == null && message.equals(MarkerUtilities.getMessage(marker))) {
-					if (start <= startOffset && end >= endOffset) {
-						return marker;
-					}
+		for (Map.Entry<IMarker, Position> entry : remainingMarkers.entrySet()) {
+			IMarker marker = entry.getKey();
+			Position position = entry.getValue();
+			if (message.equals(MarkerUtilities.getMessage(marker))) {
+				if (Math.min(start, end) <= position.getOffset()
+						&& Math.max(start, end) >= position.getOffset() + position.getLength()) {
+					return marker;
 				}
 			}
-		} catch (CoreException e) {
-			e.printStackTrace();
 		}
 		return null;
 	}